@@ -0,0 +1,82 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures what constructing a GsSwipeRefreshLayout costs while its indicator is still
+ * lazy, against the same layouts once the indicator has been built, which is what every
+ * layout used to pay in its constructor. Results are written to logcat.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GsSwipeRefreshLayoutInflationBenchmark {
+    private static final String TAG = "GsInflationBenchmark";
+    private static final int INSTANCES = 200;
+
+    @Test
+    public void constructWithoutIndicator() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final Context context = InstrumentationRegistry.getTargetContext();
+                // Warm up class loading and resources
+                create(context, INSTANCES, false);
+
+                final long lazyHeap = usedHeap();
+                final long lazyStart = SystemClock.elapsedRealtimeNanos();
+                final GsSwipeRefreshLayout[] lazy = create(context, INSTANCES, false);
+                final long lazyNanos = SystemClock.elapsedRealtimeNanos() - lazyStart;
+                final long lazyBytes = usedHeap() - lazyHeap;
+
+                final long eagerHeap = usedHeap();
+                final long eagerStart = SystemClock.elapsedRealtimeNanos();
+                final GsSwipeRefreshLayout[] eager = create(context, INSTANCES, true);
+                final long eagerNanos = SystemClock.elapsedRealtimeNanos() - eagerStart;
+                final long eagerBytes = usedHeap() - eagerHeap;
+
+                Log.i(TAG, "lazy: " + lazyNanos / INSTANCES + " ns, " + lazyBytes / INSTANCES
+                        + " bytes retained per instance");
+                Log.i(TAG, "indicator built: " + eagerNanos / INSTANCES + " ns, "
+                        + eagerBytes / INSTANCES + " bytes retained per instance");
+
+                for (GsSwipeRefreshLayout layout : lazy) {
+                    assertNull(layout.mHeader);
+                    assertEquals(1, layout.getChildCount());
+                }
+                assertNotNull(eager[0].mHeader);
+            }
+        });
+    }
+
+    private static GsSwipeRefreshLayout[] create(Context context, int count,
+                                                 boolean buildIndicator) {
+        final GsSwipeRefreshLayout[] layouts = new GsSwipeRefreshLayout[count];
+        for (int i = 0; i < count; i++) {
+            final GsSwipeRefreshLayout layout = new GsSwipeRefreshLayout(context);
+            layout.addView(new View(context));
+            if (buildIndicator) {
+                layout.setRefreshing(true);
+                layout.setRefreshing(false);
+            }
+            layouts[i] = layout;
+        }
+        return layouts;
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        runtime.runFinalization();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
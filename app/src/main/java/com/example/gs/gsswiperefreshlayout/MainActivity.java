@@ -117,6 +117,19 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
                 }
         );
 
+        // 滑动到距离底部不足半个屏幕高度时提前加载下一页
+        srl1.setLoadMoreEnabled(true);
+        srl1.setLoadMorePrefetchDistance(getResources().getDisplayMetrics().heightPixels / 2);
+        srl1.setOnLoadMoreListener(
+                new GsSwipeRefreshLayout.OnLoadMoreListener() {
+                    @Override
+                    public void onLoadMore() {
+                        Log.e(TAG, "加载更多onLoadMore");
+                        loadMore1();
+                    }
+                }
+        );
+
         srl2.setOnRefreshListener(
                 new GsSwipeRefreshLayout.OnRefreshListener() {
                     @Override
@@ -168,6 +181,17 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
         }, 2000);
     }
 
+    private void loadMore1(){
+        new Handler().postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                mDataList1.add("更多"+mDataList1.size());
+                mAdapter1.notifyDataSetChanged();
+                srl1.setLoadingMore(false);
+            }
+        }, 2000);
+    }
+
     private void addData2(final int index){
         new Handler().postDelayed(new Runnable() {
             @Override
@@ -1,1345 +0,0 @@
-package com.example.gs.gsswiperefreshlayout.gs;
-
-/*
- * Copyright (C) 2013 The Android Open Source Project
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-import android.content.Context;
-import android.content.res.TypedArray;
-import android.support.annotation.ColorInt;
-import android.support.annotation.ColorRes;
-import android.support.annotation.NonNull;
-import android.support.annotation.Nullable;
-import android.support.annotation.VisibleForTesting;
-import android.support.v4.content.ContextCompat;
-import android.support.v4.view.NestedScrollingChild;
-import android.support.v4.view.NestedScrollingChildHelper;
-import android.support.v4.view.NestedScrollingParent;
-import android.support.v4.view.NestedScrollingParentHelper;
-import android.support.v4.view.ViewCompat;
-import android.support.v4.widget.CircularProgressDrawable;
-import android.support.v4.widget.ListViewCompat;
-import android.util.AttributeSet;
-import android.util.DisplayMetrics;
-import android.util.Log;
-import android.view.MotionEvent;
-import android.view.View;
-import android.view.ViewConfiguration;
-import android.view.ViewGroup;
-import android.view.animation.Animation;
-import android.view.animation.Animation.AnimationListener;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.Transformation;
-import android.widget.AbsListView;
-import android.widget.ListView;
-
-/**
- * The GsSwipeRefreshLayout should be used whenever the user can refresh the
- * contents of a view via a vertical swipe gesture. The activity that
- * instantiates this view should add an OnRefreshListener to be notified
- * whenever the swipe to refresh gesture is completed. The GsSwipeRefreshLayout
- * will notify the listener each and every time the gesture is completed again;
- * the listener is responsible for correctly determining when to actually
- * initiate a refresh of its content. If the listener determines there should
- * not be a refresh, it must call setRefreshing(false) to cancel any visual
- * indication of a refresh. If an activity wishes to show just the progress
- * animation, it should call setRefreshing(true). To disable the gesture and
- * progress animation, call setEnabled(false) on the view.
- * <p>
- * This layout should be made the parent of the view that will be refreshed as a
- * result of the gesture and can only support one direct child. This view will
- * also be made the target of the gesture and will be forced to match both the
- * width and the height supplied in this layout. The GsSwipeRefreshLayout does not
- * provide accessibility events; instead, a menu item must be provided to allow
- * refresh of the content wherever this gesture is used.
- * </p>
- */
-public class GsSwipeRefreshLayout extends ViewGroup implements NestedScrollingParent,
-        NestedScrollingChild {
-    public static final String TAG = "GsSwipeRefreshLayout";
-
-    // Maps to ProgressBar.Large style
-    public static final int LARGE = CircularProgressDrawable.LARGE;
-    // Maps to ProgressBar default style
-    public static final int DEFAULT = CircularProgressDrawable.DEFAULT;
-
-    @VisibleForTesting
-    static final int CIRCLE_DIAMETER = 40;
-    @VisibleForTesting
-    static final int CIRCLE_DIAMETER_LARGE = 56;
-
-    private static final String LOG_TAG = GsSwipeRefreshLayout.class.getSimpleName();
-
-    private static final int MAX_ALPHA = 255;
-    private static final int STARTING_PROGRESS_ALPHA = (int) (.3f * MAX_ALPHA);
-
-    private static final float DECELERATE_INTERPOLATION_FACTOR = 2f;
-    private static final int INVALID_POINTER = -1;
-    private static final float DRAG_RATE = .5f;
-
-    // Max amount of circle that can be filled by progress during swipe gesture,
-    // where 1.0 is a full circle
-    private static final float MAX_PROGRESS_ANGLE = .8f;
-
-    private static final int SCALE_DOWN_DURATION = 150;
-
-    private static final int ALPHA_ANIMATION_DURATION = 300;
-
-    private static final int ANIMATE_TO_TRIGGER_DURATION = 200;
-
-    private static final int ANIMATE_TO_START_DURATION = 200;
-
-    // Default background for the progress spinner
-    private static final int CIRCLE_BG_LIGHT = 0xFFFAFAFA;
-    // Default offset in dips from the top of the view to where the progress spinner should stop
-    private static final int DEFAULT_CIRCLE_TARGET = 64;
-
-    private View mTarget; // the target of the gesture
-    OnRefreshListener mListener;
-    boolean mRefreshing = false;
-    private int mTouchSlop;
-    //触发刷新所需要的偏移量（手指在屏幕上总共需要拖拽多少距离才可以触发刷新）
-    private float mTotalDragDistance = -1;
-
-    // If nested scrolling is enabled, the total amount that needed to be
-    // consumed by this as the nested scrolling parent is used in place of the
-    // overscroll determined by MOVE events in the onTouch handler
-    private float mTotalUnconsumed;
-    private final NestedScrollingParentHelper mNestedScrollingParentHelper;
-    private final NestedScrollingChildHelper mNestedScrollingChildHelper;
-    private final int[] mParentScrollConsumed = new int[2];
-    private final int[] mParentOffsetInWindow = new int[2];
-    private boolean mNestedScrollInProgress;
-
-    private int mMediumAnimationDuration;
-    int mCurrentTargetOffsetTop;
-
-    private float mInitialMotionY;
-    private float mInitialDownY;
-    private boolean mIsBeingDragged;
-    private int mActivePointerId = INVALID_POINTER;
-    // Whether this item is scaled up rather than clipped
-    boolean mScale;
-
-    // Target is returning to its start offset because it was cancelled or a
-    // refresh was triggered.
-    private boolean mReturningToStart;
-    private final DecelerateInterpolator mDecelerateInterpolator;
-    private static final int[] LAYOUT_ATTRS = new int[] {
-            android.R.attr.enabled
-    };
-
-    GsCircleImageView mCircleView;
-    private int mCircleViewIndex = -1;
-
-    protected int mFrom;
-
-    float mStartingScale;
-
-    protected int mOriginalOffsetTop;
-
-    int mSpinnerOffsetEnd;//触发刷新时，指示器所在的位置（距离顶部的位置）
-
-    CircularProgressDrawable mProgress;
-
-    private Animation mScaleAnimation;
-
-    private Animation mScaleDownAnimation;
-
-    private Animation mAlphaStartAnimation;
-
-    private Animation mAlphaMaxAnimation;
-
-    private Animation mScaleDownToStartAnimation;
-
-    boolean mNotify;
-
-    private int mCircleDiameter;
-
-    // Whether the client has set a custom starting position;
-    boolean mUsingCustomStart;
-
-    private OnChildScrollUpCallback mChildScrollUpCallback;
-    private OnChildScrollLeftCallback mChildScrollLeftCallback;
-
-    private int mScrollOrientation = ViewCompat.SCROLL_AXIS_VERTICAL;//滚动方向，默认垂直方向
-
-    private Animation.AnimationListener mRefreshListener = new Animation.AnimationListener() {
-        @Override
-        public void onAnimationStart(Animation animation) {
-        }
-
-        @Override
-        public void onAnimationRepeat(Animation animation) {
-        }
-
-        @Override
-        public void onAnimationEnd(Animation animation) {
-            if (mRefreshing) {
-                // Make sure the progress view is fully visible
-                mProgress.setAlpha(MAX_ALPHA);
-                mProgress.start();
-                if (mNotify) {
-                    if (mListener != null) {
-                        mListener.onRefresh();
-                    }
-                }
-                if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-                    mCurrentTargetOffsetTop = mCircleView.getLeft();
-                }else {
-                    mCurrentTargetOffsetTop = mCircleView.getTop();
-                }
-            } else {
-                reset();
-            }
-        }
-    };
-
-    void reset() {
-        Log.e(TAG, "reset 重置");
-        mCircleView.clearAnimation();
-        mProgress.stop();
-        mCircleView.setVisibility(View.GONE);
-        setColorViewAlpha(MAX_ALPHA);
-        // Return the circle to its start position
-        if (mScale) {
-            setAnimationProgress(0 /* animation complete and view is hidden */);
-        } else {
-            if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-                setTargetOffsetLeftAndRight(mOriginalOffsetTop - mCurrentTargetOffsetTop);
-            }else {
-                setTargetOffsetTopAndBottom(mOriginalOffsetTop - mCurrentTargetOffsetTop);
-            }
-        }
-        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-            mCurrentTargetOffsetTop = mCircleView.getLeft();
-        }else {
-            mCurrentTargetOffsetTop = mCircleView.getTop();
-        }
-    }
-
-    @Override
-    public void setEnabled(boolean enabled) {
-        super.setEnabled(enabled);
-        if (!enabled) {
-            reset();
-        }
-    }
-
-    @Override
-    protected void onDetachedFromWindow() {
-        super.onDetachedFromWindow();
-        reset();
-    }
-
-    private void setColorViewAlpha(int targetAlpha) {
-        mCircleView.getBackground().setAlpha(targetAlpha);
-        mProgress.setAlpha(targetAlpha);
-    }
-
-    /**
-     * The refresh indicator starting and resting position is always positioned
-     * near the top of the refreshing content. This position is a consistent
-     * location, but can be adjusted in either direction based on whether or not
-     * there is a toolbar or actionbar present.
-     * <p>
-     * <strong>Note:</strong> Calling this will reset the position of the refresh indicator to
-     * <code>start</code>.
-     * </p>
-     *
-     * @param scale Set to true if there is no view at a higher z-order than where the progress
-     *              spinner is set to appear. Setting it to true will cause indicator to be scaled
-     *              up rather than clipped.
-     * @param start The offset in pixels from the top of this view at which the
-     *              progress spinner should appear.
-     * @param end The offset in pixels from the top of this view at which the
-     *            progress spinner should come to rest after a successful swipe
-     *            gesture.
-     */
-    public void setProgressViewOffset(boolean scale, int start, int end) {
-        mScale = scale;
-        mOriginalOffsetTop = start;
-        mSpinnerOffsetEnd = end;
-        mUsingCustomStart = true;
-        reset();
-        mRefreshing = false;
-    }
-
-    /**
-     * @return The offset in pixels from the top of this view at which the progress spinner should
-     *         appear.
-     */
-    public int getProgressViewStartOffset() {
-        return mOriginalOffsetTop;
-    }
-
-    /**
-     * @return The offset in pixels from the top of this view at which the progress spinner should
-     *         come to rest after a successful swipe gesture.
-     */
-    public int getProgressViewEndOffset() {
-        return mSpinnerOffsetEnd;
-    }
-
-    /**
-     * The refresh indicator resting position is always positioned near the top
-     * of the refreshing content. This position is a consistent location, but
-     * can be adjusted in either direction based on whether or not there is a
-     * toolbar or actionbar present.
-     *
-     * @param scale Set to true if there is no view at a higher z-order than where the progress
-     *              spinner is set to appear. Setting it to true will cause indicator to be scaled
-     *              up rather than clipped.
-     * @param end The offset in pixels from the top of this view at which the
-     *            progress spinner should come to rest after a successful swipe
-     *            gesture.
-     */
-    public void setProgressViewEndTarget(boolean scale, int end) {
-        mSpinnerOffsetEnd = end;
-        mScale = scale;
-        mCircleView.invalidate();
-    }
-
-    /**
-     * One of DEFAULT, or LARGE.
-     */
-    public void setSize(int size) {
-        if (size != CircularProgressDrawable.LARGE && size != CircularProgressDrawable.DEFAULT) {
-            return;
-        }
-        final DisplayMetrics metrics = getResources().getDisplayMetrics();
-        if (size == CircularProgressDrawable.LARGE) {
-            mCircleDiameter = (int) (CIRCLE_DIAMETER_LARGE * metrics.density);
-        } else {
-            mCircleDiameter = (int) (CIRCLE_DIAMETER * metrics.density);
-        }
-        // force the bounds of the progress circle inside the circle view to
-        // update by setting it to null before updating its size and then
-        // re-setting it
-        mCircleView.setImageDrawable(null);
-        mProgress.setStyle(size);
-        mCircleView.setImageDrawable(mProgress);
-    }
-
-    /**
-     * Simple constructor to use when creating a GsSwipeRefreshLayout from code.
-     *
-     * @param context
-     */
-    public GsSwipeRefreshLayout(@NonNull Context context) {
-        this(context, null);
-    }
-
-    /**
-     * Constructor that is called when inflating GsSwipeRefreshLayout from XML.
-     *
-     * @param context
-     * @param attrs
-     */
-    public GsSwipeRefreshLayout(@NonNull Context context, @Nullable AttributeSet attrs) {
-        super(context, attrs);
-        Log.e(TAG, "GsSwipeRefreshLayout 构造方法");
-        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
-
-        mMediumAnimationDuration = getResources().getInteger(
-                android.R.integer.config_mediumAnimTime);
-
-        setWillNotDraw(false);
-        mDecelerateInterpolator = new DecelerateInterpolator(DECELERATE_INTERPOLATION_FACTOR);
-
-        final DisplayMetrics metrics = getResources().getDisplayMetrics();
-        mCircleDiameter = (int) (CIRCLE_DIAMETER * metrics.density);
-
-        createProgressView();
-        setChildrenDrawingOrderEnabled(true);
-        // the absolute offset has to take into account that the circle starts at an offset
-        // 触发刷新时，指示器所在的位置（距离顶部的位置）
-        mSpinnerOffsetEnd = (int) (DEFAULT_CIRCLE_TARGET * metrics.density);
-        //手指在屏幕上总共需要拖拽多少距离才可以触发刷新，默认是等于触发刷新的
-        //偏离距离，如果自定义很大值，则需要拖动很大距离才可以触发刷新
-        mTotalDragDistance = mSpinnerOffsetEnd;
-        mNestedScrollingParentHelper = new NestedScrollingParentHelper(this);
-
-        mNestedScrollingChildHelper = new NestedScrollingChildHelper(this);
-        setNestedScrollingEnabled(true);
-
-        mOriginalOffsetTop = mCurrentTargetOffsetTop = -mCircleDiameter;
-        moveToStart(1.0f);
-
-        final TypedArray a = context.obtainStyledAttributes(attrs, LAYOUT_ATTRS);
-        setEnabled(a.getBoolean(0, true));
-        a.recycle();
-        Log.e(TAG, "mTotalDragDistance="+mTotalDragDistance +
-                " mOriginalOffsetTop="+mOriginalOffsetTop);
-    }
-
-    @Override
-    protected int getChildDrawingOrder(int childCount, int i) {
-        //Log.e(TAG, "getChildDrawingOrder childCount="+childCount+" i="+i);
-        if (mCircleViewIndex < 0) {
-            return i;
-        } else if (i == childCount - 1) {
-            // Draw the selected child last
-            return mCircleViewIndex;
-        } else if (i >= mCircleViewIndex) {
-            // Move the children after the selected child earlier one
-            return i + 1;
-        } else {
-            // Keep the children before the selected child the same
-            return i;
-        }
-    }
-
-    private void createProgressView() {
-        mCircleView = new GsCircleImageView(getContext(), CIRCLE_BG_LIGHT);
-        mProgress = new CircularProgressDrawable(getContext());
-        mProgress.setStyle(CircularProgressDrawable.DEFAULT);
-        mCircleView.setImageDrawable(mProgress);
-        mCircleView.setVisibility(View.GONE);
-        addView(mCircleView);
-    }
-
-    /**
-     * Set the listener to be notified when a refresh is triggered via the swipe
-     * gesture.
-     */
-    public void setOnRefreshListener(@Nullable OnRefreshListener listener) {
-        mListener = listener;
-    }
-
-    /**
-     * Notify the widget that refresh state has changed. Do not call this when
-     * refresh is triggered by a swipe gesture.
-     *
-     * @param refreshing Whether or not the view should show refresh progress.
-     */
-    public void setRefreshing(boolean refreshing) {
-        Log.e(TAG, "setRefreshing1 refreshing="+refreshing);
-        if (refreshing && mRefreshing != refreshing) {
-            // scale and show
-            mRefreshing = refreshing;
-            int endTarget = 0;
-            if (!mUsingCustomStart) {
-                endTarget = mSpinnerOffsetEnd + mOriginalOffsetTop;
-            } else {
-                endTarget = mSpinnerOffsetEnd;
-            }
-            if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-                setTargetOffsetLeftAndRight(endTarget - mCurrentTargetOffsetTop);
-            }else {
-                setTargetOffsetTopAndBottom(endTarget - mCurrentTargetOffsetTop);
-            }
-            mNotify = false;
-            startScaleUpAnimation(mRefreshListener);
-        } else {
-            setRefreshing(refreshing, false /* notify */);
-        }
-    }
-
-    private void startScaleUpAnimation(AnimationListener listener) {
-        //Log.e(TAG, "startScaleUpAnimation()");
-        mCircleView.setVisibility(View.VISIBLE);
-        mProgress.setAlpha(MAX_ALPHA);
-        mScaleAnimation = new Animation() {
-            @Override
-            public void applyTransformation(float interpolatedTime, Transformation t) {
-                setAnimationProgress(interpolatedTime);
-            }
-        };
-        mScaleAnimation.setDuration(mMediumAnimationDuration);
-        if (listener != null) {
-            mCircleView.setAnimationListener(listener);
-        }
-        mCircleView.clearAnimation();
-        mCircleView.startAnimation(mScaleAnimation);
-    }
-
-    /**
-     * Pre API 11, this does an alpha animation.
-     * @param progress
-     */
-    void setAnimationProgress(float progress) {
-        mCircleView.setScaleX(progress);
-        mCircleView.setScaleY(progress);
-    }
-
-    private void setRefreshing(boolean refreshing, final boolean notify) {
-        Log.e(TAG, "setRefreshing2 refreshing="+refreshing+" notify="+notify);
-        if (mRefreshing != refreshing) {
-            mNotify = notify;
-            ensureTarget();
-            mRefreshing = refreshing;
-            if (mRefreshing) {
-                animateOffsetToCorrectPosition(mCurrentTargetOffsetTop, mRefreshListener);
-            } else {
-                startScaleDownAnimation(mRefreshListener);
-            }
-        }
-    }
-
-    void startScaleDownAnimation(Animation.AnimationListener listener) {
-        //Log.e(TAG, "startScaleDownAnimation()");
-        mScaleDownAnimation = new Animation() {
-            @Override
-            public void applyTransformation(float interpolatedTime, Transformation t) {
-                setAnimationProgress(1 - interpolatedTime);
-            }
-        };
-        mScaleDownAnimation.setDuration(SCALE_DOWN_DURATION);
-        mCircleView.setAnimationListener(listener);
-        mCircleView.clearAnimation();
-        mCircleView.startAnimation(mScaleDownAnimation);
-    }
-
-    private void startProgressAlphaStartAnimation() {
-        //Log.e(TAG, "startProgressAlphaStartAnimation()");
-        mAlphaStartAnimation = startAlphaAnimation(mProgress.getAlpha(), STARTING_PROGRESS_ALPHA);
-    }
-
-    private void startProgressAlphaMaxAnimation() {
-        //Log.e(TAG, "startProgressAlphaMaxAnimation()");
-        mAlphaMaxAnimation = startAlphaAnimation(mProgress.getAlpha(), MAX_ALPHA);
-    }
-
-    private Animation startAlphaAnimation(final int startingAlpha, final int endingAlpha) {
-        //Log.e(TAG, "startAlphaAnimation() startingAlpha="+startingAlpha+" endingAlpha="+endingAlpha);
-        Animation alpha = new Animation() {
-            @Override
-            public void applyTransformation(float interpolatedTime, Transformation t) {
-                mProgress.setAlpha(
-                        (int) (startingAlpha + ((endingAlpha - startingAlpha) * interpolatedTime)));
-                Log.e("Alpha","interpolatedTime = "+interpolatedTime+" Alpha="+mProgress.getAlpha());
-            }
-        };
-        alpha.setDuration(ALPHA_ANIMATION_DURATION);
-        // Clear out the previous animation listeners.
-        mCircleView.setAnimationListener(null);
-        mCircleView.clearAnimation();
-        mCircleView.startAnimation(alpha);
-        return alpha;
-    }
-
-    /**
-     * @deprecated Use {@link #setProgressBackgroundColorSchemeResource(int)}
-     */
-    @Deprecated
-    public void setProgressBackgroundColor(int colorRes) {
-        setProgressBackgroundColorSchemeResource(colorRes);
-    }
-
-    /**
-     * Set the background color of the progress spinner disc.
-     *
-     * @param colorRes Resource id of the color.
-     */
-    public void setProgressBackgroundColorSchemeResource(@ColorRes int colorRes) {
-        setProgressBackgroundColorSchemeColor(ContextCompat.getColor(getContext(), colorRes));
-    }
-
-    /**
-     * Set the background color of the progress spinner disc.
-     *
-     * @param color
-     */
-    public void setProgressBackgroundColorSchemeColor(@ColorInt int color) {
-        mCircleView.setBackgroundColor(color);
-    }
-
-    /**
-     * @deprecated Use {@link #setColorSchemeResources(int...)}
-     */
-    @Deprecated
-    public void setColorScheme(@ColorRes int... colors) {
-        setColorSchemeResources(colors);
-    }
-
-    /**
-     * Set the color resources used in the progress animation from color resources.
-     * The first color will also be the color of the bar that grows in response
-     * to a user swipe gesture.
-     *
-     * @param colorResIds
-     */
-    public void setColorSchemeResources(@ColorRes int... colorResIds) {
-        final Context context = getContext();
-        int[] colorRes = new int[colorResIds.length];
-        for (int i = 0; i < colorResIds.length; i++) {
-            colorRes[i] = ContextCompat.getColor(context, colorResIds[i]);
-        }
-        setColorSchemeColors(colorRes);
-    }
-
-    /**
-     * Set the colors used in the progress animation. The first
-     * color will also be the color of the bar that grows in response to a user
-     * swipe gesture.
-     *
-     * @param colors
-     */
-    public void setColorSchemeColors(@ColorInt int... colors) {
-        ensureTarget();
-        mProgress.setColorSchemeColors(colors);
-    }
-
-    /**
-     * @return Whether the SwipeRefreshWidget is actively showing refresh
-     *         progress.
-     */
-    public boolean isRefreshing() {
-        return mRefreshing;
-    }
-
-    private void ensureTarget() {
-        // Don't bother getting the parent height if the parent hasn't been laid
-        // out yet.
-        if (mTarget == null) {
-            for (int i = 0; i < getChildCount(); i++) {
-                View child = getChildAt(i);
-                if (!child.equals(mCircleView)) {
-                    mTarget = child;
-                    break;
-                }
-            }
-        }
-    }
-
-    /**
-     * Set the distance to trigger a sync in dips
-     *
-     * @param distance
-     */
-    public void setDistanceToTriggerSync(int distance) {
-        mTotalDragDistance = distance;
-    }
-
-    @Override
-    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
-        Log.e(TAG,"onLayout 布局");
-        final int width = getMeasuredWidth();
-        final int height = getMeasuredHeight();
-        if (getChildCount() == 0) {
-            return;
-        }
-        if (mTarget == null) {
-            ensureTarget();
-        }
-        if (mTarget == null) {
-            return;
-        }
-        final View child = mTarget;
-        final int childLeft = getPaddingLeft();
-        final int childTop = getPaddingTop();
-        final int childWidth = width - getPaddingLeft() - getPaddingRight();
-        final int childHeight = height - getPaddingTop() - getPaddingBottom();
-        child.layout(childLeft, childTop, childLeft + childWidth, childTop + childHeight);
-        int circleWidth = mCircleView.getMeasuredWidth();
-        int circleHeight = mCircleView.getMeasuredHeight();
-        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-            mCircleView.layout(mCurrentTargetOffsetTop, (height / 2 - circleHeight / 2),
-                    mCurrentTargetOffsetTop + circleHeight, (height / 2 + circleHeight / 2));
-        }else {
-            mCircleView.layout((width / 2 - circleWidth / 2), mCurrentTargetOffsetTop,
-                    (width / 2 + circleWidth / 2), mCurrentTargetOffsetTop + circleHeight);
-        }
-    }
-
-    @Override
-    public void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        Log.e(TAG,"onMeasure 测量");
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-        if (mTarget == null) {
-            ensureTarget();
-        }
-        if (mTarget == null) {
-            return;
-        }
-        mTarget.measure(MeasureSpec.makeMeasureSpec(
-                getMeasuredWidth() - getPaddingLeft() - getPaddingRight(),
-                MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(
-                getMeasuredHeight() - getPaddingTop() - getPaddingBottom(), MeasureSpec.EXACTLY));
-        mCircleView.measure(MeasureSpec.makeMeasureSpec(mCircleDiameter, MeasureSpec.EXACTLY),
-                MeasureSpec.makeMeasureSpec(mCircleDiameter, MeasureSpec.EXACTLY));
-        mCircleViewIndex = -1;
-        // Get the index of the circleview.
-        for (int index = 0; index < getChildCount(); index++) {
-            if (getChildAt(index) == mCircleView) {
-                mCircleViewIndex = index;
-                break;
-            }
-        }
-    }
-
-    /**
-     * Get the diameter of the progress circle that is displayed as part of the
-     * swipe to refresh layout.
-     *
-     * @return Diameter in pixels of the progress circle view.
-     */
-    public int getProgressCircleDiameter() {
-        return mCircleDiameter;
-    }
-
-    /**
-     * @return Whether it is possible for the child view of this layout to
-     *         scroll up. Override this if the child view is a custom view.
-     */
-    public boolean canChildScrollUp() {
-        //Log.e(TAG, "canChildScrollUp()");
-        if (mChildScrollUpCallback != null) {
-            return mChildScrollUpCallback.canChildScrollUp(this, mTarget);
-        }
-        if (mTarget instanceof ListView) {
-            return ListViewCompat.canScrollList((ListView) mTarget, -1);
-        }
-        ViewCompat.canScrollVertically(mTarget, -1);
-        //RecyclerView.canScrollVertically(1)的值表示是否能向上滚动，false表示已经滚动到底部
-        //RecyclerView.canScrollVertically(-1)的值表示是否能向下滚动，false表示已经滚动到顶部
-        return mTarget.canScrollVertically(-1);
-    }
-
-    public boolean canChildScrollLeft() {
-        //Log.e(TAG, "canChildScrollLeft()");
-        if (mChildScrollLeftCallback != null) {
-            return mChildScrollLeftCallback.canChildScrollLeft(this, mTarget);
-        }
-        ViewCompat.canScrollHorizontally(mTarget, -1);
-        return mTarget.canScrollHorizontally(-1);
-    }
-
-    /**
-     * Set a callback to override {@link GsSwipeRefreshLayout#canChildScrollUp()} method. Non-null
-     * callback will return the value provided by the callback and ignore all internal logic.
-     * @param callback Callback that should be called when canChildScrollUp() is called.
-     */
-    public void setOnChildScrollUpCallback(@Nullable OnChildScrollUpCallback callback) {
-        mChildScrollUpCallback = callback;
-    }
-
-    public void setOnChildScrollLeftCallback(@Nullable OnChildScrollLeftCallback callback) {
-        mChildScrollLeftCallback = callback;
-    }
-
-    @Override
-    public boolean onInterceptTouchEvent(MotionEvent ev) {
-        Log.e(TAG, "onInterceptTouchEvent()");
-        ensureTarget();
-
-        final int action = ev.getActionMasked();
-        int pointerIndex;
-
-        if (mReturningToStart && action == MotionEvent.ACTION_DOWN) {
-            mReturningToStart = false;
-        }
-
-        if (!isEnabled() || mReturningToStart || canChildScrollUp() || canChildScrollLeft()
-                || mRefreshing || mNestedScrollInProgress) {
-            // Fail fast if we're not in a state where a swipe is possible
-            Log.e(TAG, "onInterceptTouchEvent mNestedScrollInProgress="+mNestedScrollInProgress);
-            return false;
-        }
-
-        switch (action) {
-            case MotionEvent.ACTION_DOWN:
-                setTargetOffsetTopAndBottom(mOriginalOffsetTop - mCircleView.getTop());
-                mActivePointerId = ev.getPointerId(0);
-                mIsBeingDragged = false;
-
-                pointerIndex = ev.findPointerIndex(mActivePointerId);
-                if (pointerIndex < 0) {
-                    return false;
-                }
-                mInitialDownY = ev.getY(pointerIndex);
-                break;
-
-            case MotionEvent.ACTION_MOVE:
-                if (mActivePointerId == INVALID_POINTER) {
-                    Log.e(LOG_TAG, "Got ACTION_MOVE event but don't have an active pointer id.");
-                    return false;
-                }
-
-                pointerIndex = ev.findPointerIndex(mActivePointerId);
-                if (pointerIndex < 0) {
-                    return false;
-                }
-                final float y = ev.getY(pointerIndex);
-                startDragging(y);
-                break;
-
-            case MotionEvent.ACTION_POINTER_UP:
-                onSecondaryPointerUp(ev);
-                break;
-
-            case MotionEvent.ACTION_UP:
-            case MotionEvent.ACTION_CANCEL:
-                mIsBeingDragged = false;
-                mActivePointerId = INVALID_POINTER;
-                break;
-        }
-
-        return mIsBeingDragged;
-    }
-
-    @Override
-    public void requestDisallowInterceptTouchEvent(boolean b) {
-        //Log.e(TAG, "requestDisallowInterceptTouchEvent()");
-        // if this is a List < L or another view that doesn't support nested
-        // scrolling, ignore this request so that the vertical scroll event
-        // isn't stolen
-        if ((android.os.Build.VERSION.SDK_INT < 21 && mTarget instanceof AbsListView)
-                || (mTarget != null && !ViewCompat.isNestedScrollingEnabled(mTarget))) {
-            // Nope.
-        } else {
-            super.requestDisallowInterceptTouchEvent(b);
-        }
-    }
-
-    // NestedScrollingParent
-
-    @Override
-    public boolean onStartNestedScroll(View child, View target, int nestedScrollAxes) {
-        Log.e(TAG,"onStartNestedScroll "+nestedScrollAxes);
-        return isEnabled() && !mReturningToStart && !mRefreshing;
-    }
-
-    @Override
-    public void onNestedScrollAccepted(View child, View target, int axes) {
-        Log.e(TAG,"onNestedScrollAccepted ");
-        // Reset the counter of how much leftover scroll needs to be consumed.
-        mNestedScrollingParentHelper.onNestedScrollAccepted(child, target, axes);
-        // Dispatch up to the nested parent
-        startNestedScroll(axes & ViewCompat.SCROLL_AXIS_VERTICAL);
-        mTotalUnconsumed = 0;
-        mNestedScrollInProgress = true;
-        mScrollOrientation = axes;
-    }
-
-    @Override
-    public void onNestedPreScroll(View target, int dx, int dy, int[] consumed) {
-        Log.e(TAG, "onNestedPreScroll dx="+dx+" dy="+dy+" mTotalUnconsumed="+mTotalUnconsumed);
-        // If we are in the middle of consuming, a scroll, then we want to move the spinner back up
-        // before allowing the list to scroll
-        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-            if (dx > 0 && mTotalUnconsumed > 0) {
-                if (dx > mTotalUnconsumed) {
-                    consumed[0] = dx - (int) mTotalUnconsumed;
-                    mTotalUnconsumed = 0;
-                } else {
-                    mTotalUnconsumed -= dx;
-                    consumed[0] = dx;
-                }
-                moveSpinner(mTotalUnconsumed);
-            }
-        }else {
-            if (dy > 0 && mTotalUnconsumed > 0) {
-                if (dy > mTotalUnconsumed) {
-                    consumed[1] = dy - (int) mTotalUnconsumed;
-                    mTotalUnconsumed = 0;
-                } else {
-                    mTotalUnconsumed -= dy;
-                    consumed[1] = dy;
-                }
-                moveSpinner(mTotalUnconsumed);
-            }
-        }
-
-        // If a client layout is using a custom start position for the circle
-        // view, they mean to hide it again before scrolling the child view
-        // If we get back to mTotalUnconsumed == 0 and there is more to go, hide
-        // the circle so it isn't exposed if its blocking content is moved
-        if (mUsingCustomStart && dy > 0 && mTotalUnconsumed == 0
-                && Math.abs(dy - consumed[1]) > 0) {
-            mCircleView.setVisibility(View.GONE);
-        }
-
-        // Now let our nested parent consume the leftovers
-        final int[] parentConsumed = mParentScrollConsumed;
-        if (dispatchNestedPreScroll(dx - consumed[0], dy - consumed[1], parentConsumed, null)) {
-            consumed[0] += parentConsumed[0];
-            consumed[1] += parentConsumed[1];
-        }
-    }
-
-    @Override
-    public int getNestedScrollAxes() {
-        return mNestedScrollingParentHelper.getNestedScrollAxes();
-    }
-
-    @Override
-    public void onStopNestedScroll(View target) {
-        Log.e(TAG, "onStopNestedScroll mTotalUnconsumed="+mTotalUnconsumed);
-        mNestedScrollingParentHelper.onStopNestedScroll(target);
-        mNestedScrollInProgress = false;
-        // Finish the spinner for nested scrolling if we ever consumed any
-        // unconsumed nested scroll
-        if (mTotalUnconsumed > 0) {
-            finishSpinner(mTotalUnconsumed);
-            mTotalUnconsumed = 0;
-        }
-        // Dispatch up our nested parent
-        stopNestedScroll();
-    }
-
-    @Override
-    public void onNestedScroll(final View target, final int dxConsumed, final int dyConsumed,
-                               final int dxUnconsumed, final int dyUnconsumed) {
-        Log.e(TAG, "onNestedScroll mTotalUnconsumed="+mTotalUnconsumed +" x未消耗="+dxUnconsumed+
-                " y未消耗="+dyUnconsumed +" x消耗="+dxConsumed+" y消耗="+dyConsumed);
-        // Dispatch up to the nested parent first
-        dispatchNestedScroll(dxConsumed, dyConsumed, dxUnconsumed, dyUnconsumed,
-                mParentOffsetInWindow);
-
-        // This is a bit of a hack. Nested scrolling works from the bottom up, and as we are
-        // sometimes between two nested scrolling views, we need a way to be able to know when any
-        // nested scrolling parent has stopped handling events. We do that by using the
-        // 'offset in window 'functionality to see if we have been moved from the event.
-        // This is a decent indication of whether we should take over the event stream or not.
-        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-            final int dx = dxUnconsumed + mParentOffsetInWindow[0];
-            if (dx < 0 && !canChildScrollLeft()) {
-                mTotalUnconsumed += Math.abs(dx);
-                moveSpinner(mTotalUnconsumed);
-            }
-        }else {
-            final int dy = dyUnconsumed + mParentOffsetInWindow[1];
-            if (dy < 0 && !canChildScrollUp()) {
-                mTotalUnconsumed += Math.abs(dy);
-                moveSpinner(mTotalUnconsumed);
-            }
-        }
-    }
-
-    // NestedScrollingChild
-
-    @Override
-    public void setNestedScrollingEnabled(boolean enabled) {
-        mNestedScrollingChildHelper.setNestedScrollingEnabled(enabled);
-    }
-
-    @Override
-    public boolean isNestedScrollingEnabled() {
-        return mNestedScrollingChildHelper.isNestedScrollingEnabled();
-    }
-
-    @Override
-    public boolean startNestedScroll(int axes) {
-        return mNestedScrollingChildHelper.startNestedScroll(axes);
-    }
-
-    @Override
-    public void stopNestedScroll() {
-        mNestedScrollingChildHelper.stopNestedScroll();
-    }
-
-    @Override
-    public boolean hasNestedScrollingParent() {
-        return mNestedScrollingChildHelper.hasNestedScrollingParent();
-    }
-
-    @Override
-    public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
-                                        int dyUnconsumed, int[] offsetInWindow) {
-        return mNestedScrollingChildHelper.dispatchNestedScroll(dxConsumed, dyConsumed,
-                dxUnconsumed, dyUnconsumed, offsetInWindow);
-    }
-
-    @Override
-    public boolean dispatchNestedPreScroll(int dx, int dy, int[] consumed, int[] offsetInWindow) {
-        return mNestedScrollingChildHelper.dispatchNestedPreScroll(
-                dx, dy, consumed, offsetInWindow);
-    }
-
-    @Override
-    public boolean onNestedPreFling(View target, float velocityX,
-                                    float velocityY) {
-        return dispatchNestedPreFling(velocityX, velocityY);
-    }
-
-    @Override
-    public boolean onNestedFling(View target, float velocityX, float velocityY,
-                                 boolean consumed) {
-        return dispatchNestedFling(velocityX, velocityY, consumed);
-    }
-
-    @Override
-    public boolean dispatchNestedFling(float velocityX, float velocityY, boolean consumed) {
-        return mNestedScrollingChildHelper.dispatchNestedFling(velocityX, velocityY, consumed);
-    }
-
-    @Override
-    public boolean dispatchNestedPreFling(float velocityX, float velocityY) {
-        return mNestedScrollingChildHelper.dispatchNestedPreFling(velocityX, velocityY);
-    }
-
-    private boolean isAnimationRunning(Animation animation) {
-        return animation != null && animation.hasStarted() && !animation.hasEnded();
-    }
-
-    private void moveSpinner(float overscrollTop) {
-        mProgress.setArrowEnabled(true);
-        float originalDragPercent = overscrollTop / mTotalDragDistance;
-
-        //由于originalDragPercent可能大于1，所以dragPercent才是拖动的百分比
-        float dragPercent = Math.min(1f, Math.abs(originalDragPercent));
-        float adjustedPercent = (float) Math.max(dragPercent - .4, 0) * 5 / 3;
-        //弹簧效果的位移
-        float extraOS = Math.abs(overscrollTop) - mTotalDragDistance;
-        //超过100%后可以被允许拖动的最大距离的二分之一，也是一个常数
-        float slingshotDist = mUsingCustomStart ? mSpinnerOffsetEnd - mOriginalOffsetTop
-                : mSpinnerOffsetEnd;
-        //当弹簧效果位移小余0时，tensionSlingshotPercent为0，否则取弹簧位移于总高度的比值，最大为2
-        float tensionSlingshotPercent = Math.max(0, Math.min(extraOS, slingshotDist * 2)
-                / slingshotDist);
-        //对称轴为tensionSlingshotPercent = 2的二次函数，0到2递增
-        //tensionSlingshotPercent的范围是0~2 tensionPercent的范围是0~0.5
-        float tensionPercent = (float) ((tensionSlingshotPercent / 4) - Math.pow(
-                (tensionSlingshotPercent / 4), 2)) * 2f;
-        //弹力距离
-        float extraMove = (slingshotDist) * tensionPercent * 2;
-        //想要移动到的目标位置
-        int targetY = mOriginalOffsetTop + (int) ((slingshotDist * dragPercent) + extraMove);
-        Log.e(TAG, "moveSpinner overscrollTop="+overscrollTop+" mTotalDragDistance="+mTotalDragDistance+
-                " originalDragPercent="+originalDragPercent+" dragPercent="+dragPercent+
-                " \nextraOS="+extraOS+" slingshotDist="+slingshotDist+" tensionSlingshotPercent="+
-                tensionSlingshotPercent+" tensionPercent="+tensionPercent+" extraMove="+extraMove+
-                " targetY="+targetY +" mCurrentTargetOffsetTop="+mCurrentTargetOffsetTop+" 偏移量："+
-                (targetY - mCurrentTargetOffsetTop)+" (slingshotDist * dragPercent)="+(slingshotDist * dragPercent));
-        // where 1.0f is a full circle
-        if (mCircleView.getVisibility() != View.VISIBLE) {
-            mCircleView.setVisibility(View.VISIBLE);
-        }
-        if (!mScale) {
-            mCircleView.setScaleX(1f);
-            mCircleView.setScaleY(1f);
-        }
-
-        if (mScale) {
-            setAnimationProgress(Math.min(1f, overscrollTop / mTotalDragDistance));
-        }
-        // 设置进度圈透明度的动画，只有两个效果从MAX_ALPHA到STARTING_PROGRESS_ALPHA，
-        // 从STARTING_PROGRESS_ALPHA到MAX_ALPHA。一开始我以为这个动画是一直随着手指拖拽的距离逐渐进行，
-        // 实际只有两个效果。
-        if (overscrollTop < mTotalDragDistance) {
-            Log.e("Alpha","进度圈的透明度11="+mProgress.getAlpha());
-            if (mProgress.getAlpha() > STARTING_PROGRESS_ALPHA
-                    && !isAnimationRunning(mAlphaStartAnimation)) {
-                Log.e("Alpha","开始startProgressAlphaStartAnimation动画 "+mProgress.getAlpha());
-                // Animate the alpha
-                startProgressAlphaStartAnimation();
-            }
-        } else {
-            Log.e("Alpha","进度圈的透明度22="+mProgress.getAlpha());
-            if (mProgress.getAlpha() < MAX_ALPHA && !isAnimationRunning(mAlphaMaxAnimation)) {
-                Log.e("Alpha","开始startProgressAlphaMaxAnimation动画 "+mProgress.getAlpha());
-                // Animate the alpha
-                startProgressAlphaMaxAnimation();
-            }
-        }
-        float strokeStart = adjustedPercent * .8f;
-        mProgress.setStartEndTrim(0f, Math.min(MAX_PROGRESS_ANGLE, strokeStart));
-        mProgress.setArrowScale(Math.min(1f, adjustedPercent));
-
-        float rotation = (-0.25f + .4f * adjustedPercent + tensionPercent * 2) * .5f;
-        mProgress.setProgressRotation(rotation);
-        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-            setTargetOffsetLeftAndRight(targetY - mCurrentTargetOffsetTop);
-        }else {
-            setTargetOffsetTopAndBottom(targetY - mCurrentTargetOffsetTop);
-        }
-    }
-
-    private void finishSpinner(float overscrollTop) {
-        Log.e(TAG, "finishSpinner "+overscrollTop+" mTotalDragDistance="+mTotalDragDistance);
-        if (overscrollTop > mTotalDragDistance) {
-            setRefreshing(true, true /* notify */);
-        } else {
-            // cancel refresh
-            mRefreshing = false;
-            mProgress.setStartEndTrim(0f, 0f);
-            Animation.AnimationListener listener = null;
-            if (!mScale) {
-                listener = new Animation.AnimationListener() {
-
-                    @Override
-                    public void onAnimationStart(Animation animation) {
-                    }
-
-                    @Override
-                    public void onAnimationEnd(Animation animation) {
-                        if (!mScale) {
-                            startScaleDownAnimation(null);
-                        }
-                    }
-
-                    @Override
-                    public void onAnimationRepeat(Animation animation) {
-                    }
-
-                };
-            }
-            animateOffsetToStartPosition(mCurrentTargetOffsetTop, listener);
-            mProgress.setArrowEnabled(false);
-        }
-    }
-
-    @Override
-    public boolean onTouchEvent(MotionEvent ev) {
-        Log.e(TAG, "onTouchEvent");
-        final int action = ev.getActionMasked();
-        int pointerIndex = -1;
-
-        if (mReturningToStart && action == MotionEvent.ACTION_DOWN) {
-            mReturningToStart = false;
-        }
-
-        if (!isEnabled() || mReturningToStart || canChildScrollUp() || canChildScrollLeft()
-                || mRefreshing || mNestedScrollInProgress) {
-            Log.e(TAG, "onTouchEvent mNestedScrollInProgress="+mNestedScrollInProgress);
-            // Fail fast if we're not in a state where a swipe is possible
-            return false;
-        }
-
-        switch (action) {
-            case MotionEvent.ACTION_DOWN:
-                mActivePointerId = ev.getPointerId(0);
-                mIsBeingDragged = false;
-                break;
-
-            case MotionEvent.ACTION_MOVE: {
-                pointerIndex = ev.findPointerIndex(mActivePointerId);
-                if (pointerIndex < 0) {
-                    Log.e(LOG_TAG, "Got ACTION_MOVE event but have an invalid active pointer id.");
-                    return false;
-                }
-
-                final float y = ev.getY(pointerIndex);
-                startDragging(y);
-
-                if (mIsBeingDragged) {
-                    final float overscrollTop = (y - mInitialMotionY) * DRAG_RATE;
-                    if (overscrollTop > 0) {
-                        moveSpinner(overscrollTop);
-                    } else {
-                        return false;
-                    }
-                }
-                break;
-            }
-            case MotionEvent.ACTION_POINTER_DOWN: {
-                pointerIndex = ev.getActionIndex();
-                if (pointerIndex < 0) {
-                    Log.e(LOG_TAG,
-                            "Got ACTION_POINTER_DOWN event but have an invalid action index.");
-                    return false;
-                }
-                mActivePointerId = ev.getPointerId(pointerIndex);
-                break;
-            }
-
-            case MotionEvent.ACTION_POINTER_UP:
-                onSecondaryPointerUp(ev);
-                break;
-
-            case MotionEvent.ACTION_UP: {
-                pointerIndex = ev.findPointerIndex(mActivePointerId);
-                if (pointerIndex < 0) {
-                    Log.e(LOG_TAG, "Got ACTION_UP event but don't have an active pointer id.");
-                    return false;
-                }
-
-                if (mIsBeingDragged) {
-                    final float y = ev.getY(pointerIndex);
-                    final float overscrollTop = (y - mInitialMotionY) * DRAG_RATE;
-                    mIsBeingDragged = false;
-                    finishSpinner(overscrollTop);
-                }
-                mActivePointerId = INVALID_POINTER;
-                return false;
-            }
-            case MotionEvent.ACTION_CANCEL:
-                return false;
-        }
-
-        return true;
-    }
-
-    private void startDragging(float y) {
-        //Log.e(TAG, "startDragging()"+ y);
-        final float yDiff = y - mInitialDownY;
-        if (yDiff > mTouchSlop && !mIsBeingDragged) {
-            mInitialMotionY = mInitialDownY + mTouchSlop;
-            mIsBeingDragged = true;
-            mProgress.setAlpha(STARTING_PROGRESS_ALPHA);
-        }
-    }
-
-    private void animateOffsetToCorrectPosition(int from, AnimationListener listener) {
-        //Log.e(TAG, "animateOffsetToCorrectPosition()"+ from);
-        mFrom = from;
-        mAnimateToCorrectPosition.reset();
-        mAnimateToCorrectPosition.setDuration(ANIMATE_TO_TRIGGER_DURATION);
-        mAnimateToCorrectPosition.setInterpolator(mDecelerateInterpolator);
-        if (listener != null) {
-            mCircleView.setAnimationListener(listener);
-        }
-        mCircleView.clearAnimation();
-        mCircleView.startAnimation(mAnimateToCorrectPosition);
-    }
-
-    private void animateOffsetToStartPosition(int from, AnimationListener listener) {
-        //Log.e(TAG, "animateOffsetToStartPosition()"+ from);
-        if (mScale) {
-            // Scale the item back down
-            startScaleDownReturnToStartAnimation(from, listener);
-        } else {
-            mFrom = from;
-            mAnimateToStartPosition.reset();
-            mAnimateToStartPosition.setDuration(ANIMATE_TO_START_DURATION);
-            mAnimateToStartPosition.setInterpolator(mDecelerateInterpolator);
-            if (listener != null) {
-                mCircleView.setAnimationListener(listener);
-            }
-            mCircleView.clearAnimation();
-            mCircleView.startAnimation(mAnimateToStartPosition);
-        }
-    }
-
-    private final Animation mAnimateToCorrectPosition = new Animation() {
-        @Override
-        public void applyTransformation(float interpolatedTime, Transformation t) {
-            int targetTop = 0;
-            int endTarget = 0;
-            if (!mUsingCustomStart) {
-                endTarget = mSpinnerOffsetEnd - Math.abs(mOriginalOffsetTop);
-            } else {
-                endTarget = mSpinnerOffsetEnd;
-            }
-            targetTop = (mFrom + (int) ((endTarget - mFrom) * interpolatedTime));
-            if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-                int offset = targetTop - mCircleView.getLeft();
-                setTargetOffsetLeftAndRight(offset);
-            }else {
-                int offset = targetTop - mCircleView.getTop();
-                setTargetOffsetTopAndBottom(offset);
-            }
-            mProgress.setArrowScale(1 - interpolatedTime);
-        }
-    };
-
-    void moveToStart(float interpolatedTime) {
-        Log.e(TAG, "moveToStart "+interpolatedTime);
-        int targetTop = 0;
-        targetTop = (mFrom + (int) ((mOriginalOffsetTop - mFrom) * interpolatedTime));
-        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
-            int offset = targetTop - mCircleView.getLeft();
-            /*Log.e(TAG, "moveToStart interpolatedTime="+interpolatedTime+" mFrom="+
-                    mFrom+" mOriginalOffsetLeft="+mOriginalOffsetLeft+" targetLeft="+targetLeft+
-                    " getLeft="+mCircleView.getLeft()+" offset="+offset);*/
-            setTargetOffsetLeftAndRight(offset);
-        }else {
-            int offset = targetTop - mCircleView.getTop();
-            /*Log.e(TAG, "moveToStart interpolatedTime="+interpolatedTime+" mFrom="+
-                    mFrom+" mOriginalOffsetTop="+mOriginalOffsetTop+" targetTop="+targetTop+
-                    " getTop="+mCircleView.getTop()+" offset="+offset);*/
-            setTargetOffsetTopAndBottom(offset);
-        }
-    }
-
-    private final Animation mAnimateToStartPosition = new Animation() {
-        @Override
-        public void applyTransformation(float interpolatedTime, Transformation t) {
-            Log.e(TAG, "mAnimateToStartPosition interpolatedTime="+interpolatedTime);
-            moveToStart(interpolatedTime);
-        }
-    };
-
-    private void startScaleDownReturnToStartAnimation(int from,
-                                                      Animation.AnimationListener listener) {
-        //Log.e(TAG, "startScaleDownReturnToStartAnimation()"+ from);
-        mFrom = from;
-        mStartingScale = mCircleView.getScaleX();
-        mScaleDownToStartAnimation = new Animation() {
-            @Override
-            public void applyTransformation(float interpolatedTime, Transformation t) {
-                float targetScale = (mStartingScale + (-mStartingScale  * interpolatedTime));
-                setAnimationProgress(targetScale);
-                moveToStart(interpolatedTime);
-            }
-        };
-        mScaleDownToStartAnimation.setDuration(SCALE_DOWN_DURATION);
-        if (listener != null) {
-            mCircleView.setAnimationListener(listener);
-        }
-        mCircleView.clearAnimation();
-        mCircleView.startAnimation(mScaleDownToStartAnimation);
-    }
-
-    void setTargetOffsetTopAndBottom(int offset) {
-        Log.e(TAG, "setTargetOffsetTopAndBottom offset="+offset+" getTop="+mCircleView.getTop());
-        mCircleView.bringToFront();
-        ViewCompat.offsetTopAndBottom(mCircleView, offset);
-        mCurrentTargetOffsetTop = mCircleView.getTop();
-    }
-
-    void setTargetOffsetLeftAndRight(int offset) {
-        Log.e(TAG, "setTargetOffsetLeftAndRight offset="+offset+" getLeft="+mCircleView.getLeft());
-        mCircleView.bringToFront();
-        ViewCompat.offsetLeftAndRight(mCircleView, offset);
-        mCurrentTargetOffsetTop = mCircleView.getLeft();
-    }
-
-    private void onSecondaryPointerUp(MotionEvent ev) {
-        final int pointerIndex = ev.getActionIndex();
-        final int pointerId = ev.getPointerId(pointerIndex);
-        //Log.e(TAG,"onSecondaryPointerUp() pointerIndex="+pointerIndex+" pointerId="+pointerId +" mActivePointerId="+mActivePointerId);
-        if (pointerId == mActivePointerId) {
-            // This was our active pointer going up. Choose a new
-            // active pointer and adjust accordingly.
-            final int newPointerIndex = pointerIndex == 0 ? 1 : 0;
-            mActivePointerId = ev.getPointerId(newPointerIndex);
-        }
-    }
-
-    /**
-     * Classes that wish to be notified when the swipe gesture correctly
-     * triggers a refresh should implement this interface.
-     */
-    public interface OnRefreshListener {
-        /**
-         * Called when a swipe gesture triggers a refresh.
-         */
-        void onRefresh();
-    }
-
-    /**
-     * Classes that wish to override {@link GsSwipeRefreshLayout#canChildScrollUp()} method
-     * behavior should implement this interface.
-     */
-    public interface OnChildScrollUpCallback {
-        /**
-         * Callback that will be called when {@link GsSwipeRefreshLayout#canChildScrollUp()} method
-         * is called to allow the implementer to override its behavior.
-         *
-         * @param parent GsSwipeRefreshLayout that this callback is overriding.
-         * @param child The child view of GsSwipeRefreshLayout.
-         *
-         * @return Whether it is possible for the child view of parent layout to scroll up.
-         */
-        boolean canChildScrollUp(@NonNull GsSwipeRefreshLayout parent, @Nullable View child);
-    }
-
-    public interface OnChildScrollLeftCallback {
-        boolean canChildScrollLeft(@NonNull GsSwipeRefreshLayout parent, @Nullable View child);
-    }
-}
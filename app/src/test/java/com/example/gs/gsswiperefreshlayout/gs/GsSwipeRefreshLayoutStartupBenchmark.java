@@ -0,0 +1,166 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import com.example.gs.gsswiperefreshlayout.MainActivity;
+import com.example.gs.gsswiperefreshlayout.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Startup cost of screens hosting GsSwipeRefreshLayout on the JVM: inflating
+ * activity_main.xml, a synthetic screen with many refresh layouts and MainActivity itself,
+ * each followed by a measure and layout pass. Time and allocated bytes per refresh layout
+ * are printed so regressions show up in CI logs.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsSwipeRefreshLayoutStartupBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+    private static final int SYNTHETIC_LAYOUTS = 50;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        mContext.setTheme(R.style.AppTheme);
+    }
+
+    @Test
+    public void inflateActivityMain() {
+        final Result result = run(new Screen() {
+            @Override
+            public View create() {
+                return LayoutInflater.from(mContext).inflate(R.layout.activity_main, null);
+            }
+        });
+        report("activity_main.xml", result);
+        assertEquals(4, result.layouts);
+    }
+
+    @Test
+    public void inflateSyntheticScreen() {
+        final Result result = run(new Screen() {
+            @Override
+            public View create() {
+                final LinearLayout root = new LinearLayout(mContext);
+                root.setOrientation(LinearLayout.VERTICAL);
+                for (int i = 0; i < SYNTHETIC_LAYOUTS; i++) {
+                    final GsSwipeRefreshLayout layout = new GsSwipeRefreshLayout(mContext);
+                    layout.addView(new View(mContext));
+                    root.addView(layout, new LinearLayout.LayoutParams(
+                            ViewGroup.LayoutParams.MATCH_PARENT, HEIGHT / SYNTHETIC_LAYOUTS));
+                }
+                return root;
+            }
+        });
+        report(SYNTHETIC_LAYOUTS + " refresh layouts", result);
+        assertEquals(SYNTHETIC_LAYOUTS, result.layouts);
+    }
+
+    @Test
+    public void startMainActivity() {
+        final Result result = run(new Screen() {
+            @Override
+            public View create() {
+                return Robolectric.setupActivity(MainActivity.class)
+                        .findViewById(android.R.id.content);
+            }
+        });
+        report("MainActivity", result);
+    }
+
+    private Result run(Screen screen) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measureAndLayout(screen.create());
+        }
+        final Result result = new Result();
+        for (int i = 0; i < ROUNDS; i++) {
+            final long bytesBefore = allocatedBytes();
+            final long start = System.nanoTime();
+            final View root = screen.create();
+            measureAndLayout(root);
+            result.nanos += System.nanoTime() - start;
+            result.bytes += allocatedBytes() - bytesBefore;
+
+            final List<GsSwipeRefreshLayout> layouts = new ArrayList<>();
+            collect(root, layouts);
+            for (GsSwipeRefreshLayout layout : layouts) {
+                // Nothing has been pulled, so no indicator should have been built
+                assertNull(layout.mHeader);
+            }
+            result.layouts = layouts.size();
+        }
+        return result;
+    }
+
+    private static void measureAndLayout(View root) {
+        root.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        root.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static void collect(View view, List<GsSwipeRefreshLayout> out) {
+        if (view instanceof GsSwipeRefreshLayout) {
+            out.add((GsSwipeRefreshLayout) view);
+        }
+        if (view instanceof ViewGroup) {
+            final ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                collect(group.getChildAt(i), out);
+            }
+        }
+    }
+
+    /**
+     * @return Bytes allocated so far by this thread, or 0 where the JVM can't tell.
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void report(String name, Result result) {
+        final int layouts = Math.max(1, result.layouts);
+        System.out.println(String.format("%s: %d us and %d KB per round, "
+                        + "%d us and %d bytes per refresh layout (%d layouts)", name,
+                result.nanos / ROUNDS / 1000, result.bytes / ROUNDS / 1024,
+                result.nanos / ROUNDS / layouts / 1000, result.bytes / ROUNDS / layouts,
+                result.layouts));
+    }
+
+    private interface Screen {
+        View create();
+    }
+
+    private static class Result {
+        long nanos;
+        long bytes;
+        int layouts;
+    }
+}
@@ -0,0 +1,17 @@
+# Applied to apps that minify with GsSwipeRefreshLayout.
+
+# Drop the debug logging of the gesture and animation code along with the strings built
+# for it. Slow callback reports of the watchdog go straight to android.util.Log and stay.
+-assumenosideeffects class com.example.gs.gsswiperefreshlayout.gs.GsLog {
+    static void e(java.lang.String, java.lang.String);
+}
+
+# Drop the trace hooks. Tracing can't be turned on in such builds, so beginSection() only
+# ever sees the flag off.
+-assumenosideeffects class com.example.gs.gsswiperefreshlayout.gs.GsTrace {
+    static void setEnabled(boolean);
+    static void endSection(boolean);
+    static void beginAsyncSection(java.lang.String, int);
+    static void endAsyncSection(java.lang.String, int);
+    static void setCounter(java.lang.String, int);
+}
@@ -0,0 +1,98 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+
+/**
+ * Times the app callbacks a {@link GsSwipeRefreshLayout} makes on the main thread, its
+ * listeners and the refresh header, and reports the ones that take longer than a budget.
+ * A spinner that freezes right as the refresh starts or ends is usually one of these doing
+ * I/O or parsing on the main thread.
+ * <p>
+ * With stack snapshots on, a shared background thread grabs the stack of the main thread
+ * once the budget runs out while a callback is still going, which shows where it is stuck
+ * rather than where it was called from. Calls made from inside another timed call, e.g.
+ * setRefreshing(false) from onRefresh(), are timed too, the snapshot goes with the
+ * outermost one.
+ * </p>
+ */
+final class GsCallbackWatchdog {
+    private static final String TAG = "GsCallbackWatchdog";
+
+    private static Handler sSampler;
+
+    private final long mBudgetNanos;
+    private final GsSwipeRefreshLayout.OnSlowCallbackListener mSink;
+    private final boolean mCaptureStack;
+    private final Thread mThread;
+
+    private int mDepth;
+    // Written by the sampler thread
+    private volatile StackTraceElement[] mStack;
+
+    private final Runnable mSnapshot = new Runnable() {
+        @Override
+        public void run() {
+            mStack = mThread.getStackTrace();
+        }
+    };
+
+    /**
+     * @param sink Where slow calls are reported, or null to log them.
+     */
+    GsCallbackWatchdog(long budgetMs, GsSwipeRefreshLayout.OnSlowCallbackListener sink,
+                       boolean captureStack) {
+        mBudgetNanos = budgetMs * 1000000L;
+        mSink = sink;
+        mCaptureStack = captureStack;
+        mThread = Thread.currentThread();
+    }
+
+    /**
+     * @return The start time, to be handed to {@link #end(long, Object, String)}.
+     */
+    long begin() {
+        if (mDepth++ == 0 && mCaptureStack) {
+            mStack = null;
+            getSampler().postDelayed(mSnapshot, mBudgetNanos / 1000000L);
+        }
+        return System.nanoTime();
+    }
+
+    void end(long start, Object callback, String method) {
+        final long elapsed = System.nanoTime() - start;
+        StackTraceElement[] stack = null;
+        if (--mDepth == 0 && mCaptureStack) {
+            sSampler.removeCallbacks(mSnapshot);
+            stack = mStack;
+            mStack = null;
+        }
+        if (elapsed < mBudgetNanos) {
+            return;
+        }
+        final long durationMs = elapsed / 1000000L;
+        if (mSink != null) {
+            mSink.onSlowCallback(callback, method, durationMs, stack);
+            return;
+        }
+        final String message = callback.getClass().getName() + "." + method + "() took "
+                + durationMs + "ms on the main thread, budget " + mBudgetNanos / 1000000L + "ms";
+        if (stack != null) {
+            final Throwable snapshot = new Throwable("Main thread once the budget ran out");
+            snapshot.setStackTrace(stack);
+            Log.w(TAG, message, snapshot);
+        } else {
+            Log.w(TAG, message);
+        }
+    }
+
+    private static Handler getSampler() {
+        if (sSampler == null) {
+            final HandlerThread thread = new HandlerThread(TAG);
+            thread.start();
+            sSampler = new Handler(thread.getLooper());
+        }
+        return sSampler;
+    }
+}
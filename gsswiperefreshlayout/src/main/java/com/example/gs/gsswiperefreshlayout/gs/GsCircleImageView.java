@@ -30,17 +30,27 @@ public class GsCircleImageView extends ImageView {
 
     private Animation.AnimationListener mListener;
     int mShadowRadius;
+    private boolean mShadowEnabled = true;
 
     GsCircleImageView(Context context, int color) {
         super(context);
+        final float density = getContext().getResources().getDisplayMetrics().density;
+        mShadowRadius = (int) (density * SHADOW_RADIUS);
+        setCircleBackground(color);
+    }
+
+    private void setCircleBackground(int color) {
         final float density = getContext().getResources().getDisplayMetrics().density;
         final int shadowYOffset = (int) (density * Y_OFFSET);
         final int shadowXOffset = (int) (density * X_OFFSET);
 
-        mShadowRadius = (int) (density * SHADOW_RADIUS);
-
         ShapeDrawable circle;
-        if (elevationSupported()) {
+        if (!mShadowEnabled) {
+            circle = new ShapeDrawable(new OvalShape());
+            ViewCompat.setElevation(this, 0);
+            setLayerType(View.LAYER_TYPE_NONE, null);
+            setPadding(0, 0, 0, 0);
+        } else if (elevationSupported()) {
             circle = new ShapeDrawable(new OvalShape());
             ViewCompat.setElevation(this, SHADOW_ELEVATION * density);
         } else {
@@ -57,6 +67,21 @@ public class GsCircleImageView extends ImageView {
         ViewCompat.setBackground(this, circle);
     }
 
+    /**
+     * Draw the circle flat, without elevation or the software shadow layer used before
+     * Lollipop. Enabled by default.
+     */
+    public void setShadowEnabled(boolean enabled) {
+        if (mShadowEnabled == enabled) {
+            return;
+        }
+        mShadowEnabled = enabled;
+        final int color = getBackground() instanceof ShapeDrawable
+                ? ((ShapeDrawable) getBackground()).getPaint().getColor() : Color.WHITE;
+        setCircleBackground(color);
+        requestLayout();
+    }
+
     private boolean elevationSupported() {
         return android.os.Build.VERSION.SDK_INT >= 21;
     }
@@ -64,7 +89,7 @@ public class GsCircleImageView extends ImageView {
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-        if (!elevationSupported()) {
+        if (mShadowEnabled && !elevationSupported()) {
             setMeasuredDimension(getMeasuredWidth() + mShadowRadius * 2, getMeasuredHeight()
                     + mShadowRadius * 2);
         }
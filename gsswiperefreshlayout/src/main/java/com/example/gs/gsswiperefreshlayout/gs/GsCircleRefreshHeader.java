@@ -0,0 +1,312 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.v4.widget.CircularProgressDrawable;
+import android.view.View;
+import android.view.animation.DecelerateInterpolator;
+
+/**
+ * The default {@link GsRefreshHeader}: a {@link CircularProgressDrawable} on a
+ * {@link GsCircleImageView} disc, drawing an arrow that grows with the pull and spinning
+ * while refreshing, or filling up with the progress of the refresh once one is reported.
+ */
+public class GsCircleRefreshHeader implements GsRefreshHeader, GsRefreshHeader.Determinate,
+        GsRefreshHeader.VisibilityAware {
+    private static final int MAX_ALPHA = 255;
+    private static final int STARTING_PROGRESS_ALPHA = (int) (.3f * MAX_ALPHA);
+
+    private static final DecelerateInterpolator DECELERATE_INTERPOLATOR =
+            new DecelerateInterpolator(2f);
+
+    // Max amount of circle that can be filled by progress during swipe gesture,
+    // where 1.0 is a full circle
+    private static final float MAX_PROGRESS_ANGLE = .8f;
+
+    private static final int ALPHA_ANIMATION_DURATION = 300;
+
+    private static final int ANIMATE_TO_TRIGGER_DURATION = 200;
+
+    // Determinate progress starts at 12 o'clock
+    private static final float DETERMINATE_ROTATION = -.25f;
+
+    // Spinner redraw rate in low quality
+    private static final int LOW_QUALITY_FPS = 30;
+    // The low quality spinner is a fixed arc turning once per cycle of the full one
+    private static final float LOW_QUALITY_ARC = .75f;
+    private static final long LOW_QUALITY_TURN_MS = 1332;
+
+    // Default background for the progress spinner
+    static final int CIRCLE_BG_LIGHT = 0xFFFAFAFA;
+    // Default arrow and spinner color of CircularProgressDrawable
+    static final int[] DEFAULT_COLOR_SCHEME = new int[] {Color.BLACK};
+
+    private final GsCircleImageView mCircleView;
+    private final CircularProgressDrawable mProgress;
+
+    // Shared with the layout showing this header, or created on first use
+    private GsIndicatorAnimator mAnimator;
+    private final GsIndicatorAnimator.ChannelListener mChannelListener =
+            new GsIndicatorAnimator.ChannelListener() {
+                @Override
+                public void onChannelUpdate(int channel, float value) {
+                    if (channel == GsIndicatorAnimator.CHANNEL_ALPHA) {
+                        mProgress.setAlpha((int) value);
+                    } else {
+                        mProgress.setArrowScale(value);
+                    }
+                }
+
+                @Override
+                public void onChannelEnd(int channel) {
+                }
+            };
+    private boolean mPulling;
+    private boolean mRefreshing;
+    // Showing reported progress instead of spinning
+    private boolean mDeterminate;
+    // The layout is out of sight, see onVisibilityChanged()
+    private boolean mHidden;
+    private boolean mLowQuality;
+    private boolean mSpinning;
+    private long mLowQualitySpinStartMs;
+
+    // Steps the low quality spinner instead of the drawable's animator, which would wake
+    // the main thread every vsync even if only every other frame were drawn
+    private final Runnable mLowQualitySpinFrame = new Runnable() {
+        @Override
+        public void run() {
+            final long elapsed = SystemClock.uptimeMillis() - mLowQualitySpinStartMs;
+            mProgress.setStartEndTrim(0f, LOW_QUALITY_ARC);
+            mProgress.setProgressRotation(
+                    (elapsed % LOW_QUALITY_TURN_MS) / (float) LOW_QUALITY_TURN_MS);
+            mCircleView.postDelayed(this, 1000 / LOW_QUALITY_FPS);
+        }
+    };
+
+    public GsCircleRefreshHeader(@NonNull Context context) {
+        mCircleView = new GsCircleImageView(context, CIRCLE_BG_LIGHT);
+        mProgress = new CircularProgressDrawable(context);
+        mProgress.setStyle(CircularProgressDrawable.DEFAULT);
+        mCircleView.setImageDrawable(mProgress);
+    }
+
+    @NonNull
+    @Override
+    public View getView() {
+        return mCircleView;
+    }
+
+    /**
+     * One of {@link GsSwipeRefreshLayout#DEFAULT}, or {@link GsSwipeRefreshLayout#LARGE}.
+     */
+    public void setSize(int size) {
+        // force the bounds of the progress circle inside the circle view to
+        // update by setting it to null before updating its size and then
+        // re-setting it
+        mCircleView.setImageDrawable(null);
+        mProgress.setStyle(size);
+        mCircleView.setImageDrawable(mProgress);
+    }
+
+    public void setColorSchemeColors(@ColorInt int... colors) {
+        mProgress.setColorSchemeColors(colors);
+    }
+
+    public void setBackgroundColor(@ColorInt int color) {
+        mCircleView.setBackgroundColor(color);
+    }
+
+    /**
+     * Run the fades of this header on the animator of the layout showing it, so they are
+     * advanced together with its moves. Null detaches the header from that layout.
+     */
+    void setAnimator(GsIndicatorAnimator animator) {
+        if (mAnimator != null && mAnimator != animator) {
+            cancelAlphaAnimation();
+            cancelArrowAnimation();
+        }
+        mAnimator = animator;
+    }
+
+    private GsIndicatorAnimator getAnimator() {
+        if (mAnimator == null) {
+            mAnimator = new GsIndicatorAnimator();
+        }
+        return mAnimator;
+    }
+
+    /**
+     * In low quality the alpha changes are not animated, the disc is drawn flat without a
+     * shadow and the spinner is a simpler one, stepped at a reduced rate.
+     */
+    public void setLowQuality(boolean lowQuality) {
+        if (mLowQuality == lowQuality) {
+            return;
+        }
+        mLowQuality = lowQuality;
+        mCircleView.setShadowEnabled(!lowQuality);
+        if (mSpinning) {
+            // Switch spinners
+            stopSpinner();
+            startSpinner();
+        }
+        if (lowQuality && mAnimator != null) {
+            mAnimator.end(GsIndicatorAnimator.CHANNEL_ALPHA);
+        }
+    }
+
+    @Override
+    public void onPull(float percent, float tensionPercent) {
+        if (!mPulling) {
+            mPulling = true;
+            cancelArrowAnimation();
+            mProgress.setAlpha(STARTING_PROGRESS_ALPHA);
+        }
+        mProgress.setArrowEnabled(true);
+        float dragPercent = Math.min(1f, Math.abs(percent));
+        float adjustedPercent = (float) Math.max(dragPercent - .4, 0) * 5 / 3;
+        // 设置进度圈透明度的动画，只有两个效果从MAX_ALPHA到STARTING_PROGRESS_ALPHA，
+        // 从STARTING_PROGRESS_ALPHA到MAX_ALPHA。
+        if (percent < 1f) {
+            if (mProgress.getAlpha() > STARTING_PROGRESS_ALPHA) {
+                animateAlphaTo(STARTING_PROGRESS_ALPHA);
+            }
+        } else {
+            if (mProgress.getAlpha() < MAX_ALPHA) {
+                animateAlphaTo(MAX_ALPHA);
+            }
+        }
+        float strokeStart = adjustedPercent * .8f;
+        mProgress.setStartEndTrim(0f, Math.min(MAX_PROGRESS_ANGLE, strokeStart));
+        mProgress.setArrowScale(Math.min(1f, adjustedPercent));
+
+        float rotation = (-0.25f + .4f * adjustedPercent + tensionPercent * 2) * .5f;
+        mProgress.setProgressRotation(rotation);
+    }
+
+    @Override
+    public void onRelease(boolean refreshing) {
+        mPulling = false;
+        cancelAlphaAnimation();
+        if (refreshing) {
+            // Make sure the progress view is fully visible
+            mProgress.setAlpha(MAX_ALPHA);
+            animateArrowOut();
+        } else {
+            mProgress.setStartEndTrim(0f, 0f);
+            mProgress.setArrowEnabled(false);
+        }
+    }
+
+    @Override
+    public void onRefreshing() {
+        cancelAlphaAnimation();
+        mProgress.setAlpha(MAX_ALPHA);
+        startSpinner();
+        mRefreshing = true;
+    }
+
+    @Override
+    public void onRefreshProgress(float progress) {
+        if (!mRefreshing) {
+            return;
+        }
+        if (progress < 0) {
+            if (mDeterminate) {
+                mDeterminate = false;
+                if (!mHidden) {
+                    startSpinner();
+                }
+            }
+            return;
+        }
+        if (!mDeterminate) {
+            mDeterminate = true;
+            stopSpinner();
+            mProgress.setArrowEnabled(false);
+            mProgress.setProgressRotation(DETERMINATE_ROTATION);
+        }
+        mProgress.setStartEndTrim(0f, Math.min(1f, progress));
+    }
+
+    @Override
+    public void onVisibilityChanged(boolean visible) {
+        mHidden = !visible;
+        if (!mRefreshing || mDeterminate) {
+            // Determinate progress only redraws when it changes
+            return;
+        }
+        if (visible) {
+            startSpinner();
+        } else {
+            stopSpinner();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        mPulling = false;
+        mRefreshing = false;
+        mDeterminate = false;
+        mHidden = false;
+        cancelAlphaAnimation();
+        cancelArrowAnimation();
+        stopSpinner();
+        mCircleView.getBackground().setAlpha(MAX_ALPHA);
+        mProgress.setAlpha(MAX_ALPHA);
+    }
+
+    private void startSpinner() {
+        mSpinning = true;
+        if (mLowQuality) {
+            mProgress.setArrowEnabled(false);
+            mLowQualitySpinStartMs = SystemClock.uptimeMillis();
+            mCircleView.removeCallbacks(mLowQualitySpinFrame);
+            mLowQualitySpinFrame.run();
+        } else {
+            mProgress.start();
+        }
+    }
+
+    private void stopSpinner() {
+        mSpinning = false;
+        mCircleView.removeCallbacks(mLowQualitySpinFrame);
+        mProgress.stop();
+    }
+
+    private void animateAlphaTo(int targetAlpha) {
+        final GsIndicatorAnimator animator = getAnimator();
+        if (animator.isRunning(GsIndicatorAnimator.CHANNEL_ALPHA)
+                && animator.getTargetValue(GsIndicatorAnimator.CHANNEL_ALPHA) == targetAlpha) {
+            return;
+        }
+        if (mLowQuality) {
+            cancelAlphaAnimation();
+            mProgress.setAlpha(targetAlpha);
+            return;
+        }
+        animator.start(GsIndicatorAnimator.CHANNEL_ALPHA, mProgress.getAlpha(), targetAlpha,
+                ALPHA_ANIMATION_DURATION, null, mChannelListener);
+    }
+
+    private void animateArrowOut() {
+        getAnimator().start(GsIndicatorAnimator.CHANNEL_ARROW, 1f, 0f,
+                ANIMATE_TO_TRIGGER_DURATION, DECELERATE_INTERPOLATOR, mChannelListener);
+    }
+
+    private void cancelAlphaAnimation() {
+        if (mAnimator != null) {
+            mAnimator.cancel(GsIndicatorAnimator.CHANNEL_ALPHA);
+        }
+    }
+
+    private void cancelArrowAnimation() {
+        if (mAnimator != null) {
+            mAnimator.cancel(GsIndicatorAnimator.CHANNEL_ARROW);
+        }
+    }
+}
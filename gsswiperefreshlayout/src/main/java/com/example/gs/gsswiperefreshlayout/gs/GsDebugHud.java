@@ -0,0 +1,177 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.view.View;
+
+/**
+ * Debug overlay of a {@link GsSwipeRefreshLayout}, drawn over its content while the user
+ * pulls and while refreshing: a graph of the last frame durations, how many frames were
+ * dropped, how far the indicator is pulled, how long moveSpinner() took and how long ago
+ * onRefresh() was called. Frames are timed through the {@link GsFrameTicker}, only while
+ * the overlay is active.
+ * <p>
+ * Only created once enabled, so a layout without it pays nothing but a null check.
+ * </p>
+ */
+final class GsDebugHud implements GsFrameTicker.Callback {
+    private static final int HISTORY = 60;
+    private static final float TEXT_SIZE_DP = 12;
+    private static final float BAR_WIDTH_DP = 3;
+    // Height of the graph for a frame that took exactly one vsync
+    private static final float VSYNC_HEIGHT_DP = 16;
+    // A frame later than this many vsyncs counts as dropping the ones in between
+    private static final float DROP_THRESHOLD = 1.5f;
+
+    private final View mView;
+    private final float mDensity;
+    private final Paint mBackgroundPaint = new Paint();
+    private final Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mBarPaint = new Paint();
+    private final StringBuilder mText = new StringBuilder();
+
+    private long mFrameIntervalNanos;
+    private boolean mActive;
+
+    // Ring buffer of the last frame durations
+    private final long[] mFrameNanos = new long[HISTORY];
+    private int mFrameIndex;
+    private int mFrames;
+    private long mLastFrameTimeNanos;
+    private int mDroppedFrames;
+
+    private float mDragPercent;
+    private long mMoveSpinnerNanos;
+    private long mRefreshTimeNanos;
+
+    GsDebugHud(View view, float frameIntervalMs) {
+        mView = view;
+        mDensity = view.getResources().getDisplayMetrics().density;
+        mBackgroundPaint.setColor(0xb0000000);
+        mTextPaint.setColor(Color.WHITE);
+        mTextPaint.setTextSize(TEXT_SIZE_DP * mDensity);
+        setFrameInterval(frameIntervalMs);
+    }
+
+    void setFrameInterval(float frameIntervalMs) {
+        mFrameIntervalNanos = (long) (frameIntervalMs * 1000000L);
+    }
+
+    /**
+     * Start or stop timing frames and drawing. Starting again clears what was collected.
+     */
+    void setActive(boolean active) {
+        if (mActive == active) {
+            return;
+        }
+        mActive = active;
+        if (active) {
+            mFrameIndex = 0;
+            mFrames = 0;
+            mLastFrameTimeNanos = 0;
+            mDroppedFrames = 0;
+            mDragPercent = 0;
+            mMoveSpinnerNanos = 0;
+            mRefreshTimeNanos = 0;
+            GsFrameTicker.getInstance().addCallback(this);
+        } else {
+            GsFrameTicker.getInstance().removeCallback(this);
+        }
+        mView.invalidate();
+    }
+
+    void onMoveSpinner(float dragPercent, long durationNanos) {
+        mDragPercent = dragPercent;
+        mMoveSpinnerNanos = durationNanos;
+    }
+
+    void onRefresh() {
+        mRefreshTimeNanos = System.nanoTime();
+    }
+
+    @Override
+    public boolean doFrame(long frameTimeNanos) {
+        if (!mActive) {
+            return false;
+        }
+        if (mLastFrameTimeNanos != 0) {
+            final long duration = frameTimeNanos - mLastFrameTimeNanos;
+            mFrameNanos[mFrameIndex] = duration;
+            mFrameIndex = (mFrameIndex + 1) % HISTORY;
+            mFrames = Math.min(mFrames + 1, HISTORY);
+            if (duration > mFrameIntervalNanos * DROP_THRESHOLD) {
+                mDroppedFrames += Math.round((float) duration / mFrameIntervalNanos) - 1;
+            }
+        }
+        mLastFrameTimeNanos = frameTimeNanos;
+        mView.invalidate();
+        return true;
+    }
+
+    void draw(Canvas canvas) {
+        if (!mActive) {
+            return;
+        }
+        final float padding = 4 * mDensity;
+        final float barWidth = BAR_WIDTH_DP * mDensity;
+        final float graphHeight = 3 * VSYNC_HEIGHT_DP * mDensity;
+        final float lineHeight = mTextPaint.getFontSpacing();
+        final float left = mView.getPaddingLeft() + padding;
+        final float top = mView.getPaddingTop() + padding;
+        canvas.drawRect(left, top, left + HISTORY * barWidth + 2 * padding,
+                top + graphHeight + 4 * lineHeight + 3 * padding, mBackgroundPaint);
+
+        // Oldest frame on the left, each bar as high as its frame took
+        final float bottom = top + padding + graphHeight;
+        long lastFrameNanos = 0;
+        long maxFrameNanos = 0;
+        for (int i = 0; i < mFrames; i++) {
+            final long nanos = mFrameNanos[(mFrameIndex - mFrames + i + HISTORY) % HISTORY];
+            final float height = Math.min(graphHeight,
+                    VSYNC_HEIGHT_DP * mDensity * nanos / mFrameIntervalNanos);
+            mBarPaint.setColor(nanos > mFrameIntervalNanos * DROP_THRESHOLD
+                    ? Color.RED : Color.GREEN);
+            final float x = left + padding + i * barWidth;
+            canvas.drawRect(x, bottom - height, x + barWidth - 1, bottom, mBarPaint);
+            lastFrameNanos = nanos;
+            maxFrameNanos = Math.max(maxFrameNanos, nanos);
+        }
+
+        float y = bottom + padding + lineHeight;
+        mText.setLength(0);
+        mText.append("frame ");
+        appendMillis(mText, lastFrameNanos);
+        mText.append(" max ");
+        appendMillis(mText, maxFrameNanos);
+        drawLine(canvas, left + padding, y);
+        y += lineHeight;
+        mText.setLength(0);
+        mText.append("dropped ").append(mDroppedFrames);
+        drawLine(canvas, left + padding, y);
+        y += lineHeight;
+        mText.setLength(0);
+        mText.append("drag ").append(Math.round(mDragPercent * 100)).append("% moveSpinner ")
+                .append(mMoveSpinnerNanos / 1000).append("us");
+        drawLine(canvas, left + padding, y);
+        y += lineHeight;
+        mText.setLength(0);
+        mText.append("since onRefresh ");
+        if (mRefreshTimeNanos != 0) {
+            mText.append((System.nanoTime() - mRefreshTimeNanos) / 1000000L).append("ms");
+        } else {
+            mText.append('-');
+        }
+        drawLine(canvas, left + padding, y);
+    }
+
+    private void drawLine(Canvas canvas, float x, float y) {
+        canvas.drawText(mText, 0, mText.length(), x, y, mTextPaint);
+    }
+
+    // Milliseconds with one decimal, without going through String.format
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        final long tenths = nanos / 100000L;
+        sb.append(tenths / 10).append('.').append(tenths % 10).append("ms");
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Process wide frame clock shared by every {@link GsSwipeRefreshLayout}. Instead of each
+ * layout posting its own frame callbacks, layouts register here while their indicator is
+ * animating and a single {@link Choreographer} callback advances all of them in one pass.
+ * Nothing is posted while no callback is registered, and {@link #getCallbackCount()} tells
+ * how many indicators are animating at any time.
+ * <p>
+ * Frames come from the {@link Choreographer} unless another {@link FrameSource} is installed,
+ * which lets tests and benchmarks step every indicator animation by hand instead of waiting
+ * for real time to pass.
+ * </p>
+ * <p>
+ * Only to be used from the main thread.
+ * </p>
+ */
+public final class GsFrameTicker implements Choreographer.FrameCallback {
+
+    public interface Callback {
+        /**
+         * Called once per frame while registered.
+         *
+         * @param frameTimeNanos The frame time, in the {@link System#nanoTime()} time base.
+         * @return Whether to be called again on the next frame.
+         */
+        boolean doFrame(long frameTimeNanos);
+    }
+
+    /**
+     * Delivers frames to the ticker. Frame times are expected in the {@link System#nanoTime()}
+     * time base, or at least to advance like it.
+     */
+    public interface FrameSource {
+        /**
+         * Call the callback once, on the next frame.
+         */
+        void postFrameCallback(Choreographer.FrameCallback callback);
+
+        void removeFrameCallback(Choreographer.FrameCallback callback);
+    }
+
+    private static final FrameSource CHOREOGRAPHER_FRAME_SOURCE = new FrameSource() {
+        @Override
+        public void postFrameCallback(Choreographer.FrameCallback callback) {
+            Choreographer.getInstance().postFrameCallback(callback);
+        }
+
+        @Override
+        public void removeFrameCallback(Choreographer.FrameCallback callback) {
+            Choreographer.getInstance().removeFrameCallback(callback);
+        }
+    };
+
+    private static GsFrameTicker sInstance;
+
+    private FrameSource mFrameSource = CHOREOGRAPHER_FRAME_SOURCE;
+
+    // Entries removed while dispatching are nulled out and dropped at the end of the frame
+    private final ArrayList<Callback> mCallbacks = new ArrayList<>();
+    private boolean mDispatching;
+    private boolean mPosted;
+    private long mFrameCount;
+
+    private GsFrameTicker() {
+    }
+
+    @MainThread
+    public static GsFrameTicker getInstance() {
+        if (sInstance == null) {
+            sInstance = new GsFrameTicker();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Replace where frames come from, for every animation in the process.
+     *
+     * @param source The source to use, or null to go back to the {@link Choreographer}.
+     */
+    public void setFrameSource(@Nullable FrameSource source) {
+        if (source == null) {
+            source = CHOREOGRAPHER_FRAME_SOURCE;
+        }
+        if (source == mFrameSource) {
+            return;
+        }
+        if (mPosted) {
+            mFrameSource.removeFrameCallback(this);
+            source.postFrameCallback(this);
+        }
+        mFrameSource = source;
+    }
+
+    /**
+     * Start calling the callback every frame, starting with the next one. Adding a callback
+     * that is already registered does nothing.
+     */
+    public void addCallback(Callback callback) {
+        if (mCallbacks.contains(callback)) {
+            return;
+        }
+        mCallbacks.add(callback);
+        if (!mPosted) {
+            mPosted = true;
+            mFrameSource.postFrameCallback(this);
+        }
+    }
+
+    public void removeCallback(Callback callback) {
+        final int index = mCallbacks.indexOf(callback);
+        if (index < 0) {
+            return;
+        }
+        if (mDispatching) {
+            mCallbacks.set(index, null);
+        } else {
+            mCallbacks.remove(index);
+            if (mCallbacks.isEmpty() && mPosted) {
+                mPosted = false;
+                mFrameSource.removeFrameCallback(this);
+            }
+        }
+    }
+
+    /**
+     * @return How many callbacks are currently registered, i.e. how many indicators are
+     *         animating.
+     */
+    public int getCallbackCount() {
+        int count = 0;
+        for (int i = 0; i < mCallbacks.size(); i++) {
+            if (mCallbacks.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return How many frames have been dispatched since the process started.
+     */
+    public long getFrameCount() {
+        return mFrameCount;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mPosted = false;
+        mFrameCount++;
+        mDispatching = true;
+        // Callbacks added by another callback start on the next frame
+        final int count = mCallbacks.size();
+        for (int i = 0; i < count; i++) {
+            final Callback callback = mCallbacks.get(i);
+            if (callback != null && !callback.doFrame(frameTimeNanos)) {
+                mCallbacks.set(i, null);
+            }
+        }
+        mDispatching = false;
+        for (int i = mCallbacks.size() - 1; i >= 0; i--) {
+            if (mCallbacks.get(i) == null) {
+                mCallbacks.remove(i);
+            }
+        }
+        if (!mCallbacks.isEmpty()) {
+            mPosted = true;
+            mFrameSource.postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Animates the independent properties of one refresh indicator. Every property is a
+ * channel with its own start value, end value, duration, interpolator and listener, so
+ * moving the indicator no longer cancels a running fade and vice versa. All running channels
+ * are advanced together from a single {@link GsFrameTicker} callback, and each channel
+ * reports its own end.
+ */
+class GsIndicatorAnimator implements GsFrameTicker.Callback {
+    // Offset of the indicator along the scroll axis, in pixels
+    static final int CHANNEL_POSITION = 0;
+    // Scale of the indicator view
+    static final int CHANNEL_SCALE = 1;
+    // Alpha of the progress drawable, 0 to 255
+    static final int CHANNEL_ALPHA = 2;
+    // Scale of the arrow drawn at the end of the progress arc
+    static final int CHANNEL_ARROW = 3;
+    private static final int CHANNEL_COUNT = 4;
+
+    private static final long NOT_STARTED = -1;
+
+    interface ChannelListener {
+        void onChannelUpdate(int channel, float value);
+
+        /**
+         * Called once the channel reached its end value. Not called when the channel is
+         * cancelled or restarted.
+         */
+        void onChannelEnd(int channel);
+    }
+
+    private final boolean[] mRunning = new boolean[CHANNEL_COUNT];
+    private final float[] mFrom = new float[CHANNEL_COUNT];
+    private final float[] mTo = new float[CHANNEL_COUNT];
+    private final float[] mValue = new float[CHANNEL_COUNT];
+    private final long[] mDurationNanos = new long[CHANNEL_COUNT];
+    private final long[] mStartNanos = new long[CHANNEL_COUNT];
+    private final Interpolator[] mInterpolators = new Interpolator[CHANNEL_COUNT];
+    private final ChannelListener[] mListeners = new ChannelListener[CHANNEL_COUNT];
+    // Listeners of the channels that ended in the current frame
+    private final ChannelListener[] mEnded = new ChannelListener[CHANNEL_COUNT];
+    private int mRunningCount;
+
+    /**
+     * Animate a channel from one value to another, starting with the next frame. A channel
+     * that is already running is replaced without reporting its end.
+     *
+     * @param interpolator The interpolator, or null for linear.
+     */
+    void start(int channel, float from, float to, int durationMs,
+               Interpolator interpolator, ChannelListener listener) {
+        if (!mRunning[channel]) {
+            mRunning[channel] = true;
+            if (mRunningCount++ == 0) {
+                GsFrameTicker.getInstance().addCallback(this);
+            }
+        }
+        mFrom[channel] = from;
+        mTo[channel] = to;
+        mValue[channel] = from;
+        mDurationNanos[channel] = durationMs * 1000000L;
+        mStartNanos[channel] = NOT_STARTED;
+        mInterpolators[channel] = interpolator;
+        mListeners[channel] = listener;
+    }
+
+    /**
+     * Stop the channel where it is, without reporting its end.
+     */
+    void cancel(int channel) {
+        if (!mRunning[channel]) {
+            return;
+        }
+        stop(channel);
+        if (mRunningCount == 0) {
+            GsFrameTicker.getInstance().removeCallback(this);
+        }
+    }
+
+    void cancelAll() {
+        for (int channel = 0; channel < CHANNEL_COUNT; channel++) {
+            cancel(channel);
+        }
+    }
+
+    /**
+     * Jump the channel to its end value and report its end.
+     */
+    void end(int channel) {
+        if (!mRunning[channel]) {
+            return;
+        }
+        final ChannelListener listener = mListeners[channel];
+        mValue[channel] = mTo[channel];
+        cancel(channel);
+        listener.onChannelUpdate(channel, mTo[channel]);
+        listener.onChannelEnd(channel);
+    }
+
+    boolean isRunning(int channel) {
+        return mRunning[channel];
+    }
+
+    /**
+     * @return The value the channel is animating towards.
+     */
+    float getTargetValue(int channel) {
+        return mTo[channel];
+    }
+
+    /**
+     * @return The value last set by the channel.
+     */
+    float getValue(int channel) {
+        return mValue[channel];
+    }
+
+    private void stop(int channel) {
+        mRunning[channel] = false;
+        mListeners[channel] = null;
+        mInterpolators[channel] = null;
+        mRunningCount--;
+    }
+
+    @Override
+    public boolean doFrame(long frameTimeNanos) {
+        for (int channel = 0; channel < CHANNEL_COUNT; channel++) {
+            if (!mRunning[channel]) {
+                continue;
+            }
+            if (mStartNanos[channel] == NOT_STARTED) {
+                mStartNanos[channel] = frameTimeNanos;
+            }
+            final long duration = mDurationNanos[channel];
+            final float fraction = duration <= 0 ? 1f
+                    : Math.min(1f, (float) (frameTimeNanos - mStartNanos[channel]) / duration);
+            final Interpolator interpolator = mInterpolators[channel];
+            final float interpolated = interpolator == null ? fraction
+                    : interpolator.getInterpolation(fraction);
+            final float value = mFrom[channel] + (mTo[channel] - mFrom[channel]) * interpolated;
+            mValue[channel] = value;
+            final ChannelListener listener = mListeners[channel];
+            if (fraction >= 1f) {
+                mEnded[channel] = listener;
+                stop(channel);
+            }
+            listener.onChannelUpdate(channel, value);
+        }
+        // Every channel has been moved before any end is reported, so a listener sees the
+        // whole indicator in its final state for this frame and may start new channels
+        for (int channel = 0; channel < CHANNEL_COUNT; channel++) {
+            final ChannelListener listener = mEnded[channel];
+            if (listener != null) {
+                mEnded[channel] = null;
+                listener.onChannelEnd(channel);
+            }
+        }
+        return mRunningCount > 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+/**
+ * Predicts the finger position with a constant velocity Kalman filter, which smooths out
+ * jittery samples better than a straight line fit at the cost of reacting a little later
+ * to changes of direction.
+ */
+public class GsKalmanTouchPredictor implements GsTouchPredictor {
+    // How much the velocity is expected to change between samples, in px/ms per ms
+    private static final float DEFAULT_PROCESS_NOISE = .02f;
+    // Variance of the reported position, in px squared
+    private static final float DEFAULT_MEASUREMENT_NOISE = 4f;
+
+    private final float mProcessNoise;
+    private final float mMeasurementNoise;
+
+    private boolean mInitialized;
+    private long mLastTime;
+    // State: position in px and velocity in px/ms
+    private float mPosition;
+    private float mVelocity;
+    // Covariance of the state
+    private float mP00;
+    private float mP01;
+    private float mP10;
+    private float mP11;
+
+    public GsKalmanTouchPredictor() {
+        this(DEFAULT_PROCESS_NOISE, DEFAULT_MEASUREMENT_NOISE);
+    }
+
+    public GsKalmanTouchPredictor(float processNoise, float measurementNoise) {
+        mProcessNoise = processNoise;
+        mMeasurementNoise = measurementNoise;
+    }
+
+    @Override
+    public void reset() {
+        mInitialized = false;
+    }
+
+    @Override
+    public void addSample(long timeMillis, float position) {
+        if (!mInitialized) {
+            mInitialized = true;
+            mLastTime = timeMillis;
+            mPosition = position;
+            mVelocity = 0;
+            mP00 = mMeasurementNoise;
+            mP01 = 0;
+            mP10 = 0;
+            mP11 = 1;
+            return;
+        }
+        final float dt = Math.max(1, timeMillis - mLastTime);
+        mLastTime = timeMillis;
+
+        // Predict
+        mPosition += mVelocity * dt;
+        final float q = mProcessNoise;
+        final float p00 = mP00 + dt * (mP10 + mP01) + dt * dt * mP11 + q * dt * dt * dt / 3;
+        final float p01 = mP01 + dt * mP11 + q * dt * dt / 2;
+        final float p10 = mP10 + dt * mP11 + q * dt * dt / 2;
+        final float p11 = mP11 + q * dt;
+
+        // Update with the measured position
+        final float s = p00 + mMeasurementNoise;
+        final float k0 = p00 / s;
+        final float k1 = p10 / s;
+        final float innovation = position - mPosition;
+        mPosition += k0 * innovation;
+        mVelocity += k1 * innovation;
+        mP00 = (1 - k0) * p00;
+        mP01 = (1 - k0) * p01;
+        mP10 = p10 - k1 * p00;
+        mP11 = p11 - k1 * p01;
+    }
+
+    @Override
+    public float predict(long timeMillis) {
+        if (!mInitialized) {
+            return Float.NaN;
+        }
+        return mPosition + mVelocity * Math.min(timeMillis - mLastTime, MAX_PREDICTION_MS);
+    }
+}
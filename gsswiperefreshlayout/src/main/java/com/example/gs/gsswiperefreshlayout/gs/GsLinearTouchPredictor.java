@@ -0,0 +1,67 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+/**
+ * Predicts the finger position from a least squares line through the most recent samples.
+ * Cheap and good for steady pulls; use {@link GsKalmanTouchPredictor} when input is noisy.
+ */
+public class GsLinearTouchPredictor implements GsTouchPredictor {
+    private static final int MAX_SAMPLES = 5;
+    // Samples older than this are not part of the current motion
+    private static final long MAX_SAMPLE_AGE_MS = 60;
+
+    private final long[] mTimes = new long[MAX_SAMPLES];
+    private final float[] mPositions = new float[MAX_SAMPLES];
+    private int mCount;
+    private int mNext;
+
+    @Override
+    public void reset() {
+        mCount = 0;
+        mNext = 0;
+    }
+
+    @Override
+    public void addSample(long timeMillis, float position) {
+        mTimes[mNext] = timeMillis;
+        mPositions[mNext] = position;
+        mNext = (mNext + 1) % MAX_SAMPLES;
+        if (mCount < MAX_SAMPLES) {
+            mCount++;
+        }
+    }
+
+    @Override
+    public float predict(long timeMillis) {
+        if (mCount == 0) {
+            return Float.NaN;
+        }
+        final int last = (mNext + MAX_SAMPLES - 1) % MAX_SAMPLES;
+        final long lastTime = mTimes[last];
+        // Least squares fit of position over time, relative to the last sample
+        float sumT = 0;
+        float sumP = 0;
+        float sumTT = 0;
+        float sumTP = 0;
+        int n = 0;
+        for (int i = 0; i < mCount; i++) {
+            final int index = (last + MAX_SAMPLES - i) % MAX_SAMPLES;
+            final float t = mTimes[index] - lastTime;
+            if (-t > MAX_SAMPLE_AGE_MS) {
+                break;
+            }
+            final float p = mPositions[index];
+            sumT += t;
+            sumP += p;
+            sumTT += t * t;
+            sumTP += t * p;
+            n++;
+        }
+        final float denominator = n * sumTT - sumT * sumT;
+        if (n < 2 || denominator == 0) {
+            return mPositions[last];
+        }
+        final float velocity = (n * sumTP - sumT * sumP) / denominator;
+        final float intercept = (sumP - velocity * sumT) / n;
+        return intercept + velocity * Math.min(timeMillis - lastTime, MAX_PREDICTION_MS);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.util.Log;
+
+/**
+ * Debug logging of this package. Goes through its own class so the consumer ProGuard rules
+ * of the library can strip it from minified apps without touching the app's own logging.
+ */
+final class GsLog {
+    private GsLog() {
+    }
+
+    static void e(String tag, String msg) {
+        Log.e(tag, msg);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refreshes several independent sources in parallel on a pull. Each source is loaded on
+ * the executor, and its callback gets the result on the main thread as soon as it is
+ * there. The indicator stops once every source is done, or at the deadline after the pull
+ * if one is set; sources finishing after the deadline still deliver their result.
+ * <p>
+ * Set it on a layout with {@link GsSwipeRefreshLayout#setRefreshHandler}, where it takes
+ * over from the {@link GsSwipeRefreshLayout.OnRefreshListener}. Only one round of loads
+ * runs at a time; a pull while one is running waits for it. That holds past the deadline
+ * too: a pull after the indicator of a round was stopped by it, with sources of that round
+ * still loading, joins that round instead of starting fresh loads. Must only be used from
+ * the main thread.
+ * </p>
+ */
+public class GsMultiSourceRefresh implements GsSwipeRefreshLayout.RefreshHandler {
+
+    public interface Source<T> {
+        /**
+         * Load the source. Called on an executor thread.
+         */
+        T load() throws Exception;
+    }
+
+    public interface Callback<T> {
+        /**
+         * Called on the main thread with the result of the source.
+         */
+        void onLoaded(T result);
+
+        /**
+         * Called on the main thread when loading the source threw, or the executor rejected
+         * it. An {@link Error} thrown by the load comes wrapped in an
+         * {@link ExecutionException}.
+         */
+        void onFailed(@NonNull Exception e);
+    }
+
+    private static final int MAX_THREADS = 4;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static Executor sDefaultExecutor;
+
+    private final Executor mExecutor;
+    private final ArrayList<Entry<?>> mEntries = new ArrayList<>();
+    private long mDeadlineMillis;
+
+    // The last round of loads, a pull while it is running waits for it
+    private Round mRound;
+    // Waiting with their indicator spinning for mRound
+    private final ArrayList<GsSwipeRefreshLayout> mWaitingLayouts = new ArrayList<>();
+    // Stops a waiting layout at the deadline counted from its own pull
+    private final HashMap<GsSwipeRefreshLayout, Runnable> mDeadlines = new HashMap<>();
+
+    /**
+     * Loads on a shared pool of at most 4 threads, fewer on devices with fewer cores.
+     */
+    public GsMultiSourceRefresh() {
+        this(getDefaultExecutor());
+    }
+
+    /**
+     * @param executor Where the sources are loaded. Should be bounded, every source of a
+     *                 round is handed to it at once.
+     */
+    public GsMultiSourceRefresh(@NonNull Executor executor) {
+        mExecutor = executor;
+    }
+
+    private static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            final int threads = Math.max(1,
+                    Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        private final AtomicInteger mCount = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(@NonNull final Runnable r) {
+                            return new Thread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    // Keep the loads from competing with the main thread,
+                                    // like AsyncTask does
+                                    Process.setThreadPriority(
+                                            Process.THREAD_PRIORITY_BACKGROUND);
+                                    r.run();
+                                }
+                            }, "GsMultiSourceRefresh #" + mCount.incrementAndGet());
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            sDefaultExecutor = executor;
+        }
+        return sDefaultExecutor;
+    }
+
+    public <T> GsMultiSourceRefresh addSource(@NonNull Source<T> source,
+                                              @NonNull Callback<T> callback) {
+        mEntries.add(new Entry<>(source, callback));
+        return this;
+    }
+
+    /**
+     * @param deadlineMillis How long after a pull the indicator stops even if sources are
+     *                       still loading. 0, the default, waits for all of them.
+     */
+    public GsMultiSourceRefresh setDeadline(long deadlineMillis) {
+        mDeadlineMillis = deadlineMillis;
+        return this;
+    }
+
+    @Override
+    public void onRefresh(@NonNull GsSwipeRefreshLayout layout) {
+        if (!mWaitingLayouts.contains(layout)) {
+            mWaitingLayouts.add(layout);
+            // Also when joining a round that is past its deadline for earlier pulls
+            postDeadline(layout);
+        }
+        if (mRound != null && mRound.remaining > 0) {
+            return;
+        }
+        if (mEntries.isEmpty()) {
+            stopWaiting();
+            return;
+        }
+        final Round round = new Round(mEntries.size());
+        mRound = round;
+        for (int i = 0; i < mEntries.size(); i++) {
+            mEntries.get(i).submit(round);
+        }
+    }
+
+    private void postDeadline(final GsSwipeRefreshLayout layout) {
+        if (mDeadlineMillis <= 0) {
+            return;
+        }
+        final Runnable deadline = new Runnable() {
+            @Override
+            public void run() {
+                mDeadlines.remove(layout);
+                if (mWaitingLayouts.remove(layout)) {
+                    layout.setRefreshing(false);
+                }
+            }
+        };
+        mDeadlines.put(layout, deadline);
+        GsSwipeRefreshLayout.MAIN_HANDLER.postDelayed(deadline, mDeadlineMillis);
+    }
+
+    void onSourceDone(Round round) {
+        round.remaining--;
+        if (round.remaining == 0 && round == mRound) {
+            stopWaiting();
+        }
+    }
+
+    private void stopWaiting() {
+        for (Runnable deadline : mDeadlines.values()) {
+            GsSwipeRefreshLayout.MAIN_HANDLER.removeCallbacks(deadline);
+        }
+        mDeadlines.clear();
+        // Copied first, stopping a layout may pull again
+        final ArrayList<GsSwipeRefreshLayout> layouts = new ArrayList<>(mWaitingLayouts);
+        mWaitingLayouts.clear();
+        for (int i = 0; i < layouts.size(); i++) {
+            layouts.get(i).setRefreshing(false);
+        }
+    }
+
+    static final class Round {
+        int remaining;
+
+        Round(int sources) {
+            remaining = sources;
+        }
+    }
+
+    private final class Entry<T> {
+        final Source<T> source;
+        final Callback<T> callback;
+
+        Entry(Source<T> source, Callback<T> callback) {
+            this.source = source;
+            this.callback = callback;
+        }
+
+        void submit(final Round round) {
+            try {
+                mExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        T result = null;
+                        Exception error = null;
+                        try {
+                            result = source.load();
+                        } catch (Exception e) {
+                            error = e;
+                        } catch (Error e) {
+                            error = new ExecutionException(e);
+                            throw e;
+                        } finally {
+                            // The round only ends once every source has been delivered
+                            deliver(round, result, error);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                deliver(round, null, e);
+            }
+        }
+
+        private void deliver(final Round round, final T result, final Exception error) {
+            GsSwipeRefreshLayout.MAIN_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (error != null) {
+                            callback.onFailed(error);
+                        } else {
+                            callback.onLoaded(result);
+                        }
+                    } finally {
+                        onSourceDone(round);
+                    }
+                }
+            });
+        }
+    }
+}
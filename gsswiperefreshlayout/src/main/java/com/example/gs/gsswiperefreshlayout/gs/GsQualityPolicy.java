@@ -0,0 +1,144 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.support.v4.app.ActivityManagerCompat;
+
+/**
+ * Decides whether a {@link GsSwipeRefreshLayout} draws its indicator at full or reduced
+ * quality. Unless a quality has been set explicitly, low quality is picked on low RAM
+ * devices, in power save mode, and once frames sampled while the indicator animates turn
+ * out to be too slow.
+ */
+class GsQualityPolicy implements GsFrameTicker.Callback {
+    private static final float DEFAULT_FRAME_INTERVAL_MS = 1000f / 60;
+    private static final int SAMPLE_FRAMES = 60;
+    // More than a quarter of the sampled frames were slow
+    private static final int MAX_SLOW_FRAMES = SAMPLE_FRAMES / 4;
+
+    private static Boolean sLowRamDevice;
+
+    interface Listener {
+        void onQualityChanged();
+    }
+
+    private final Context mContext;
+    private final Listener mListener;
+    private int mRequestedQuality = GsSwipeRefreshLayout.QUALITY_AUTO;
+    private boolean mSlowFramesSeen;
+    // At least one vsync was missed. Frame times come in whole vsyncs, half a vsync of
+    // margin keeps jitter from counting.
+    private long mSlowFrameNanos = slowFrameNanos(DEFAULT_FRAME_INTERVAL_MS);
+
+    private boolean mSampling;
+    private long mLastFrameNanos;
+    private int mFrames;
+    private int mSlowFrames;
+
+    GsQualityPolicy(Context context, Listener listener) {
+        mContext = context.getApplicationContext();
+        mListener = listener;
+    }
+
+    /**
+     * @param frameIntervalMs Vsync interval of the display the layout is on.
+     */
+    void setFrameInterval(float frameIntervalMs) {
+        mSlowFrameNanos = slowFrameNanos(frameIntervalMs);
+    }
+
+    private static long slowFrameNanos(float frameIntervalMs) {
+        return (long) (frameIntervalMs * 1.5f * 1000000);
+    }
+
+    void setRequestedQuality(int quality) {
+        mRequestedQuality = quality;
+        if (quality != GsSwipeRefreshLayout.QUALITY_AUTO) {
+            stopSampling();
+        }
+    }
+
+    int getRequestedQuality() {
+        return mRequestedQuality;
+    }
+
+    /**
+     * @return {@link GsSwipeRefreshLayout#QUALITY_HIGH} or {@link GsSwipeRefreshLayout#QUALITY_LOW}.
+     */
+    int resolve() {
+        if (mRequestedQuality != GsSwipeRefreshLayout.QUALITY_AUTO) {
+            return mRequestedQuality;
+        }
+        if (mSlowFramesSeen || isLowRamDevice() || isPowerSaveMode()) {
+            return GsSwipeRefreshLayout.QUALITY_LOW;
+        }
+        return GsSwipeRefreshLayout.QUALITY_HIGH;
+    }
+
+    private boolean isLowRamDevice() {
+        if (sLowRamDevice == null) {
+            final ActivityManager am =
+                    (ActivityManager) mContext.getSystemService(Context.ACTIVITY_SERVICE);
+            sLowRamDevice = am != null && ActivityManagerCompat.isLowRamDevice(am);
+        }
+        return sLowRamDevice;
+    }
+
+    private boolean isPowerSaveMode() {
+        if (Build.VERSION.SDK_INT < 21) {
+            return false;
+        }
+        final PowerManager pm = (PowerManager) mContext.getSystemService(Context.POWER_SERVICE);
+        return pm != null && pm.isPowerSaveMode();
+    }
+
+    /**
+     * Start timing frames, if the quality is still picked automatically and full quality
+     * has not been ruled out yet.
+     */
+    void startSampling() {
+        if (mSampling || mSlowFramesSeen
+                || resolve() != GsSwipeRefreshLayout.QUALITY_HIGH
+                || mRequestedQuality != GsSwipeRefreshLayout.QUALITY_AUTO) {
+            return;
+        }
+        mSampling = true;
+        mLastFrameNanos = 0;
+        mFrames = 0;
+        mSlowFrames = 0;
+        GsFrameTicker.getInstance().addCallback(this);
+    }
+
+    void stopSampling() {
+        if (!mSampling) {
+            return;
+        }
+        mSampling = false;
+        GsFrameTicker.getInstance().removeCallback(this);
+    }
+
+    @Override
+    public boolean doFrame(long frameTimeNanos) {
+        if (!mSampling) {
+            return false;
+        }
+        if (mLastFrameNanos != 0 && frameTimeNanos - mLastFrameNanos > mSlowFrameNanos) {
+            mSlowFrames++;
+        }
+        mLastFrameNanos = frameTimeNanos;
+        if (++mFrames >= SAMPLE_FRAMES) {
+            if (mSlowFrames > MAX_SLOW_FRAMES) {
+                // Stays low for the lifetime of the layout
+                mSlowFramesSeen = true;
+                mSampling = false;
+                mListener.onQualityChanged();
+                return false;
+            }
+            mFrames = 0;
+            mSlowFrames = 0;
+        }
+        return true;
+    }
+}
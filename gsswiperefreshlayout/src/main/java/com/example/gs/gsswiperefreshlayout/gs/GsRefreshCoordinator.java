@@ -0,0 +1,148 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Joins the refreshes of several {@link GsSwipeRefreshLayout}s showing data from the same
+ * source. Layouts are attached under the key of their source; pulling any of them loads
+ * that source once and shows every layout attached under the key as refreshing, and a pull
+ * on another one while the load runs just waits for it. Once the load completes, all of
+ * them stop refreshing together.
+ * <p>
+ * Attaching sets the coordinator as the {@link GsSwipeRefreshLayout.RefreshHandler} of the
+ * layout. Keeps hold of the attached layouts; scope it to the screen that owns them. Must
+ * only be used from the main thread, apart from {@link Completion}.
+ * </p>
+ */
+public class GsRefreshCoordinator<K> implements GsSwipeRefreshLayout.RefreshHandler {
+
+    public interface Loader<K> {
+        /**
+         * Load the source. Called on the main thread; may complete from any thread.
+         */
+        void load(@NonNull K key, @NonNull Completion completion);
+    }
+
+    /**
+     * One load of a source. Complete it from any thread, only the first call counts.
+     */
+    public static final class Completion {
+        private final GsRefreshCoordinator<?> mCoordinator;
+        private final AtomicBoolean mDone = new AtomicBoolean();
+
+        Completion(GsRefreshCoordinator<?> coordinator) {
+            mCoordinator = coordinator;
+        }
+
+        public void complete() {
+            if (!mDone.compareAndSet(false, true)) {
+                return;
+            }
+            GsSwipeRefreshLayout.MAIN_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    mCoordinator.onLoadComplete(Completion.this);
+                }
+            });
+        }
+    }
+
+    private final Loader<K> mLoader;
+    private final HashMap<GsSwipeRefreshLayout, K> mKeys = new HashMap<>();
+    private final HashMap<K, Completion> mInFlight = new HashMap<>();
+
+    public GsRefreshCoordinator(@NonNull Loader<K> loader) {
+        mLoader = loader;
+    }
+
+    /**
+     * Attach the layout under the key of its source. A layout already attached under another
+     * key moves to the new one; it stops refreshing if it was only waiting for the load of
+     * the old source.
+     */
+    public void attach(@NonNull GsSwipeRefreshLayout layout, @NonNull K key) {
+        final K oldKey = mKeys.put(layout, key);
+        layout.setRefreshHandler(this);
+        if (mInFlight.containsKey(key)) {
+            layout.setRefreshing(true);
+        } else if (oldKey != null && !oldKey.equals(key) && mInFlight.containsKey(oldKey)) {
+            // The old load would not find it under its key any more
+            layout.setRefreshing(false);
+        }
+    }
+
+    /**
+     * Stop coordinating the layout. It is left refreshing if it is, and will have to be
+     * stopped by the app.
+     */
+    public void detach(@NonNull GsSwipeRefreshLayout layout) {
+        if (mKeys.remove(layout) != null) {
+            layout.setRefreshHandler(null);
+        }
+    }
+
+    /**
+     * Refresh a source as if one of its layouts had been pulled, or join the load already
+     * running.
+     */
+    public void refresh(@NonNull K key) {
+        if (mInFlight.containsKey(key)) {
+            return;
+        }
+        final Completion completion = new Completion(this);
+        mInFlight.put(key, completion);
+        for (Map.Entry<GsSwipeRefreshLayout, K> entry : mKeys.entrySet()) {
+            if (entry.getValue().equals(key)) {
+                entry.getKey().setRefreshing(true);
+            }
+        }
+        mLoader.load(key, completion);
+    }
+
+    /**
+     * @return Whether the source is being loaded.
+     */
+    public boolean isRefreshing(@NonNull K key) {
+        return mInFlight.containsKey(key);
+    }
+
+    @Override
+    public void onRefresh(@NonNull GsSwipeRefreshLayout layout) {
+        final K key = mKeys.get(layout);
+        if (key == null) {
+            // Detached from somewhere else, nothing to load for it
+            layout.setRefreshing(false);
+            return;
+        }
+        refresh(key);
+    }
+
+    void onLoadComplete(Completion completion) {
+        K key = null;
+        for (Map.Entry<K, Completion> entry : mInFlight.entrySet()) {
+            if (entry.getValue() == completion) {
+                key = entry.getKey();
+                break;
+            }
+        }
+        if (key == null) {
+            return;
+        }
+        mInFlight.remove(key);
+        // Collected first, stopping a layout may attach or detach others
+        final ArrayList<GsSwipeRefreshLayout> layouts = new ArrayList<>();
+        for (Map.Entry<GsSwipeRefreshLayout, K> entry : mKeys.entrySet()) {
+            if (entry.getValue().equals(key)) {
+                layouts.add(entry.getKey());
+            }
+        }
+        for (int i = 0; i < layouts.size(); i++) {
+            layouts.get(i).setRefreshing(false);
+        }
+    }
+}
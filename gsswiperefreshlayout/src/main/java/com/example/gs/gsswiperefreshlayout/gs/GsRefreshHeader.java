@@ -0,0 +1,92 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * The indicator shown by {@link GsSwipeRefreshLayout} while the user pulls and while the
+ * content is refreshing. The layout positions, scales and shows or hides {@link #getView()};
+ * the header only draws the pull progress and the refreshing state inside it.
+ * <p>
+ * Headers are created lazily, the first time the user pulls or
+ * {@link GsSwipeRefreshLayout#setRefreshing(boolean)} is called, and can be shared between
+ * layouts through a {@link GsRefreshHeaderPool}.
+ * </p>
+ */
+public interface GsRefreshHeader {
+
+    /**
+     * @return The view that is added to the layout and moved along the pull axis. Must
+     *         always return the same instance.
+     */
+    @NonNull
+    View getView();
+
+    /**
+     * Called each time the indicator follows the user's finger.
+     *
+     * @param percent Pulled distance relative to the distance needed to trigger a refresh.
+     *                Values of 1 and above mean a refresh triggers on release.
+     * @param tensionPercent How far past the trigger distance the indicator has been
+     *                       stretched, from 0 to 0.5.
+     */
+    void onPull(float percent, float tensionPercent);
+
+    /**
+     * Called when the indicator starts moving to its refreshing position, either because
+     * the user let go past the trigger distance or because refreshing was set from code, or
+     * back to its start position because the pull was cancelled.
+     *
+     * @param refreshing Whether the indicator is heading to its refreshing position.
+     */
+    void onRelease(boolean refreshing);
+
+    /**
+     * Called once the indicator has reached its refreshing position and the refresh runs.
+     */
+    void onRefreshing();
+
+    /**
+     * Called when the refresh has finished or was cancelled and the indicator is hidden.
+     * Headers should stop any running animation here.
+     */
+    void onComplete();
+
+    /**
+     * Implemented by headers that can show how far along a refresh is, as reported through
+     * {@link GsSwipeRefreshLayout#setRefreshProgress(float)}.
+     */
+    interface Determinate {
+        /**
+         * Called while refreshing, at most once per frame and only when the progress changed.
+         *
+         * @param progress From 0 to 1, or negative to go back to showing indeterminate
+         *                 progress.
+         */
+        void onRefreshProgress(float progress);
+    }
+
+    /**
+     * Implemented by headers that pause their animations while the layout can't be seen.
+     * Other headers keep animating while hidden.
+     */
+    interface VisibilityAware {
+        /**
+         * Called while refreshing when the layout goes out of sight, e.g. scrolled off screen
+         * or in a hidden window, and when it can be seen again. Headers should stop running
+         * animations while not visible and pick them up again afterwards.
+         *
+         * @param visible Whether the layout can be seen.
+         */
+        void onVisibilityChanged(boolean visible);
+    }
+
+    /**
+     * Creates the headers of a {@link GsRefreshHeaderPool}.
+     */
+    interface Factory {
+        @NonNull
+        GsRefreshHeader create(@NonNull Context context);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+
+/**
+ * Shares refresh headers between several {@link GsSwipeRefreshLayout}s. A layout obtains a
+ * header from the pool the first time it needs one and hands it back when it is detached
+ * from its window, so a screen with many layouts only builds as many headers as are shown
+ * at the same time.
+ * <p>
+ * The pool keeps hold of the headers it is given back, and their views reference a
+ * {@link Context}; scope it to the screen that owns the layouts. Must only be used from
+ * the main thread.
+ * </p>
+ */
+public class GsRefreshHeaderPool {
+    private static final int DEFAULT_MAX_SCRAP = 2;
+
+    private final GsRefreshHeader.Factory mFactory;
+    private final int mMaxScrap;
+    private final ArrayList<GsRefreshHeader> mScrap = new ArrayList<>();
+
+    public GsRefreshHeaderPool(@NonNull GsRefreshHeader.Factory factory) {
+        this(factory, DEFAULT_MAX_SCRAP);
+    }
+
+    /**
+     * @param factory Creates headers when the pool has none to hand out.
+     * @param maxScrap How many released headers the pool keeps for reuse.
+     */
+    public GsRefreshHeaderPool(@NonNull GsRefreshHeader.Factory factory, int maxScrap) {
+        mFactory = factory;
+        mMaxScrap = maxScrap;
+    }
+
+    /**
+     * @return A released header created for the same context, or a new one.
+     */
+    @NonNull
+    GsRefreshHeader obtain(@NonNull Context context) {
+        for (int i = mScrap.size() - 1; i >= 0; i--) {
+            if (mScrap.get(i).getView().getContext() == context) {
+                return mScrap.remove(i);
+            }
+        }
+        return mFactory.create(context);
+    }
+
+    /**
+     * Hand a header back. Its view must already have been removed from its parent.
+     */
+    void release(@NonNull GsRefreshHeader header) {
+        header.onComplete();
+        if (mScrap.size() < mMaxScrap) {
+            mScrap.add(header);
+        }
+    }
+
+    /**
+     * Drop all released headers.
+     */
+    public void clear() {
+        mScrap.clear();
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decides what a pull on a {@link GsSwipeRefreshLayout} actually loads, with a cache of the
+ * last result in front of the loader:
+ * <ul>
+ * <li>A pull within the minimum refresh interval of the last result completes right away
+ * with the cached result, the indicator just shrinks away again.</li>
+ * <li>With background revalidation on, a pull on a result younger than the TTL shows the
+ * cached result right away as well, and loads a new one without the indicator.</li>
+ * <li>Otherwise the indicator spins until the loader delivers.</li>
+ * </ul>
+ * Only one load runs at a time; a pull while one is running waits for it.
+ * <p>
+ * Set it on a layout with {@link GsSwipeRefreshLayout#setRefreshHandler}, where it takes
+ * over from the {@link GsSwipeRefreshLayout.OnRefreshListener}. Must only be used from the
+ * main thread, apart from {@link Request}.
+ * </p>
+ */
+public class GsRefreshPolicy<T> implements GsSwipeRefreshLayout.RefreshHandler {
+
+    public interface Loader<T> {
+        /**
+         * Start loading a new result. Called on the main thread; the result may be delivered
+         * from any thread.
+         */
+        void load(@NonNull Request<T> request);
+    }
+
+    public interface Listener<T> {
+        /**
+         * Called on the main thread with every result to show.
+         *
+         * @param fromCache Whether the result is the cached one, a new one follows if it
+         *                  is being revalidated.
+         */
+        void onResult(@NonNull T result, boolean fromCache);
+    }
+
+    /**
+     * Holds the last result, e.g. in memory or on disk.
+     */
+    public interface Cache<T> {
+        @Nullable
+        Entry<T> get();
+
+        void put(@NonNull Entry<T> entry);
+    }
+
+    public static final class Entry<T> {
+        public final T value;
+        // When the value was loaded, in System.currentTimeMillis() time
+        public final long timeMillis;
+
+        public Entry(@NonNull T value, long timeMillis) {
+            this.value = value;
+            this.timeMillis = timeMillis;
+        }
+    }
+
+    /**
+     * Keeps the last result in memory only.
+     */
+    public static class MemoryCache<T> implements Cache<T> {
+        private Entry<T> mEntry;
+
+        @Nullable
+        @Override
+        public Entry<T> get() {
+            return mEntry;
+        }
+
+        @Override
+        public void put(@NonNull Entry<T> entry) {
+            mEntry = entry;
+        }
+    }
+
+    /**
+     * One load. Deliver a result or fail it from any thread, only the first call counts.
+     */
+    public static final class Request<T> {
+        private final GsRefreshPolicy<T> mPolicy;
+        private final AtomicBoolean mDone = new AtomicBoolean();
+
+        Request(GsRefreshPolicy<T> policy) {
+            mPolicy = policy;
+        }
+
+        public void deliver(@NonNull T result) {
+            finish(result);
+        }
+
+        /**
+         * The load failed, the cache is left as it was.
+         */
+        public void fail() {
+            finish(null);
+        }
+
+        private void finish(final T result) {
+            if (!mDone.compareAndSet(false, true)) {
+                return;
+            }
+            GsSwipeRefreshLayout.MAIN_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    mPolicy.onLoadFinished(Request.this, result);
+                }
+            });
+        }
+    }
+
+    private final Loader<T> mLoader;
+    private final Listener<T> mListener;
+    private Cache<T> mCache = new MemoryCache<>();
+    private long mTtlMillis;
+    private long mMinRefreshIntervalMillis;
+    private boolean mRevalidateInBackground;
+
+    private Request<T> mInFlight;
+    // Waiting with their indicator spinning for the load in flight
+    private final ArrayList<GsSwipeRefreshLayout> mWaitingLayouts = new ArrayList<>();
+
+    public GsRefreshPolicy(@NonNull Loader<T> loader, @NonNull Listener<T> listener) {
+        mLoader = loader;
+        mListener = listener;
+    }
+
+    public GsRefreshPolicy<T> setCache(@NonNull Cache<T> cache) {
+        mCache = cache;
+        return this;
+    }
+
+    /**
+     * @param ttlMillis How old a cached result may be to still be shown while a new one is
+     *                  loaded in the background. 0, the default, never shows a cached one.
+     */
+    public GsRefreshPolicy<T> setTtl(long ttlMillis) {
+        mTtlMillis = ttlMillis;
+        return this;
+    }
+
+    /**
+     * @param intervalMillis How old the cached result has to be before a pull loads a new
+     *                       one. Pulls before that complete right away from the cache.
+     */
+    public GsRefreshPolicy<T> setMinRefreshInterval(long intervalMillis) {
+        mMinRefreshIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    /**
+     * @param revalidate Whether a pull on a cached result within the TTL shows it right
+     *                   away and loads a new one without the indicator.
+     */
+    public GsRefreshPolicy<T> setRevalidateInBackground(boolean revalidate) {
+        mRevalidateInBackground = revalidate;
+        return this;
+    }
+
+    @Override
+    public void onRefresh(@NonNull GsSwipeRefreshLayout layout) {
+        final Entry<T> entry = mCache.get();
+        final long age = entry != null
+                ? System.currentTimeMillis() - entry.timeMillis : Long.MAX_VALUE;
+        // A clock set back makes the entry look like it comes from the future, don't trust it
+        if (entry != null && age >= 0 && age < mMinRefreshIntervalMillis) {
+            mListener.onResult(entry.value, true);
+            layout.setRefreshing(false);
+            return;
+        }
+        if (entry != null && age >= 0 && age < mTtlMillis && mRevalidateInBackground) {
+            mListener.onResult(entry.value, true);
+            layout.setRefreshing(false);
+            load();
+            return;
+        }
+        if (!mWaitingLayouts.contains(layout)) {
+            mWaitingLayouts.add(layout);
+        }
+        load();
+    }
+
+    private void load() {
+        if (mInFlight != null) {
+            return;
+        }
+        mInFlight = new Request<>(this);
+        mLoader.load(mInFlight);
+    }
+
+    void onLoadFinished(Request<T> request, T result) {
+        if (request != mInFlight) {
+            return;
+        }
+        mInFlight = null;
+        if (result != null) {
+            mCache.put(new Entry<>(result, System.currentTimeMillis()));
+            mListener.onResult(result, false);
+        }
+        // Copied first, stopping a layout may pull again
+        final ArrayList<GsSwipeRefreshLayout> layouts = new ArrayList<>(mWaitingLayouts);
+        mWaitingLayouts.clear();
+        for (int i = 0; i < layouts.size(); i++) {
+            layouts.get(i).setRefreshing(false);
+        }
+    }
+}
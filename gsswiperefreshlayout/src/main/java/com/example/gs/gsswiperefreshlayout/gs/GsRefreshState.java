@@ -0,0 +1,130 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+/**
+ * The refresh state of a {@link GsSwipeRefreshLayout}. The layout reports what happened as
+ * events and the next state is looked up in a transition table, so every entry point checks
+ * a single state instead of re-deriving it from a set of flags. Events that make no sense in
+ * the current state are ignored.
+ * <p>
+ * Has no Android dependencies, so it can be tested and benchmarked on the JVM.
+ * </p>
+ */
+final class GsRefreshState {
+    interface Listener {
+        void onStateChanged(int from, int to);
+    }
+
+    // At rest, nothing showing
+    static final int IDLE = 0;
+    // Pulled, but not far enough to refresh on release
+    static final int DRAGGING = 1;
+    // Pulled past the trigger distance, refreshes on release
+    static final int ARMED = 2;
+    // Refresh triggered, moving to the refreshing position
+    static final int SETTLING = 3;
+    static final int REFRESHING = 4;
+    // Going back to rest, by returning to the start or shrinking away
+    static final int DISMISSING = 5;
+    static final int STATE_COUNT = 6;
+
+    // Pulled short of the trigger distance
+    static final int EVENT_PULL = 0;
+    static final int EVENT_PULL_PAST_TRIGGER = 1;
+    // Let go without refreshing
+    static final int EVENT_RELEASE = 2;
+    // Let go past the trigger distance or with a flick, or setRefreshing(true)
+    static final int EVENT_TRIGGER = 3;
+    // Reached the refreshing position
+    static final int EVENT_SETTLED = 4;
+    // setRefreshing(false)
+    static final int EVENT_FINISH = 5;
+    // The indicator was put back at rest. A refresh still in progress stays in progress,
+    // only the indicator is gone.
+    static final int EVENT_RESET = 6;
+    // Drop everything, including a refresh in progress
+    static final int EVENT_ABORT = 7;
+    static final int EVENT_COUNT = 8;
+
+    private static final int X = -1;
+
+    private static final int[][] TRANSITIONS = new int[][] {
+            //  PULL      PAST_TRIGGER RELEASE     TRIGGER   SETTLED     FINISH      RESET       ABORT
+            {DRAGGING, ARMED,       X,          SETTLING, X,          X,          IDLE,       IDLE}, // IDLE
+            {DRAGGING, ARMED,       DISMISSING, SETTLING, X,          X,          IDLE,       IDLE}, // DRAGGING
+            {DRAGGING, ARMED,       DISMISSING, SETTLING, X,          X,          IDLE,       IDLE}, // ARMED
+            {X,        X,           X,          X,        REFRESHING, DISMISSING, REFRESHING, IDLE}, // SETTLING
+            {X,        X,           X,          X,        X,          DISMISSING, REFRESHING, IDLE}, // REFRESHING
+            {DRAGGING, ARMED,       X,          SETTLING, X,          X,          IDLE,       IDLE}, // DISMISSING
+    };
+
+    // States in which a new pull may start or continue
+    private static final boolean[] PULLABLE = new boolean[] {
+            true, true, true, false, false, true
+    };
+
+    private int mState = IDLE;
+    private Listener mListener;
+
+    int get() {
+        return mState;
+    }
+
+    /**
+     * @return Whether the event was accepted in the current state.
+     */
+    boolean dispatch(int event) {
+        final int next = TRANSITIONS[mState][event];
+        if (next == X) {
+            return false;
+        }
+        final int previous = mState;
+        mState = next;
+        if (next != previous && mListener != null) {
+            mListener.onStateChanged(previous, next);
+        }
+        return true;
+    }
+
+    /**
+     * @param listener Told about every change of state, not about events that leave the
+     *                 state as it was.
+     */
+    void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @return Whether a refresh has been triggered and not finished yet.
+     */
+    boolean isRefreshing() {
+        return mState == SETTLING || mState == REFRESHING;
+    }
+
+    boolean canPull() {
+        return PULLABLE[mState];
+    }
+
+    static String toString(int state) {
+        switch (state) {
+            case IDLE:
+                return "IDLE";
+            case DRAGGING:
+                return "DRAGGING";
+            case ARMED:
+                return "ARMED";
+            case SETTLING:
+                return "SETTLING";
+            case REFRESHING:
+                return "REFRESHING";
+            case DISMISSING:
+                return "DISMISSING";
+            default:
+                return String.valueOf(state);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toString(mState);
+    }
+}
@@ -0,0 +1,2601 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.SystemClock;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.view.NestedScrollingChild;
+import android.support.v4.view.NestedScrollingChildHelper;
+import android.support.v4.view.NestedScrollingParent;
+import android.support.v4.view.NestedScrollingParentHelper;
+import android.support.v4.view.ScrollingView;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.widget.CircularProgressDrawable;
+import android.support.v4.widget.ListViewCompat;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.view.Display;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.view.animation.DecelerateInterpolator;
+import android.widget.AbsListView;
+import android.widget.ListView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GsSwipeRefreshLayout should be used whenever the user can refresh the
+ * contents of a view via a vertical swipe gesture. The activity that
+ * instantiates this view should add an OnRefreshListener to be notified
+ * whenever the swipe to refresh gesture is completed. The GsSwipeRefreshLayout
+ * will notify the listener each and every time the gesture is completed again;
+ * the listener is responsible for correctly determining when to actually
+ * initiate a refresh of its content. If the listener determines there should
+ * not be a refresh, it must call setRefreshing(false) to cancel any visual
+ * indication of a refresh. If an activity wishes to show just the progress
+ * animation, it should call setRefreshing(true). To disable the gesture and
+ * progress animation, call setEnabled(false) on the view.
+ * <p>
+ * This layout should be made the parent of the view that will be refreshed as a
+ * result of the gesture and can only support one direct child. This view will
+ * also be made the target of the gesture and will be forced to match both the
+ * width and the height supplied in this layout. The GsSwipeRefreshLayout does not
+ * provide accessibility events; instead, a menu item must be provided to allow
+ * refresh of the content wherever this gesture is used.
+ * </p>
+ */
+public class GsSwipeRefreshLayout extends ViewGroup implements NestedScrollingParent,
+        NestedScrollingChild {
+    public static final String TAG = "GsSwipeRefreshLayout";
+
+    // Maps to ProgressBar.Large style
+    public static final int LARGE = CircularProgressDrawable.LARGE;
+    // Maps to ProgressBar default style
+    public static final int DEFAULT = CircularProgressDrawable.DEFAULT;
+
+    // Indicator quality, see setIndicatorQuality(int)
+    public static final int QUALITY_AUTO = 0;
+    public static final int QUALITY_HIGH = 1;
+    public static final int QUALITY_LOW = 2;
+
+    // See setRefreshProgress(float)
+    public static final float PROGRESS_INDETERMINATE = -1f;
+
+    @VisibleForTesting
+    static final int CIRCLE_DIAMETER = 40;
+    @VisibleForTesting
+    static final int CIRCLE_DIAMETER_LARGE = 56;
+
+    private static final String LOG_TAG = GsSwipeRefreshLayout.class.getSimpleName();
+
+    private static final float DECELERATE_INTERPOLATION_FACTOR = 2f;
+    // Interpolators keep no state, so every layout shares this one
+    private static final DecelerateInterpolator DECELERATE_INTERPOLATOR =
+            new DecelerateInterpolator(DECELERATE_INTERPOLATION_FACTOR);
+    private static final int INVALID_POINTER = -1;
+    private static final float DRAG_RATE = .5f;
+
+    private static final int SCALE_DOWN_DURATION = 150;
+
+    private static final int ANIMATE_TO_TRIGGER_DURATION = 200;
+
+    // Shortest settle to the refreshing position after a fast release
+    private static final int MIN_SETTLE_DURATION = 80;
+
+    // Default finger velocity in dips per second above which a short pull still refreshes
+    private static final int DEFAULT_REFRESH_FLING_VELOCITY = 1000;
+    // A flick has to cover at least this share of the trigger distance to refresh
+    private static final float FLING_MIN_DRAG_PERCENT = .5f;
+
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private static final int ANIMATE_TO_START_DURATION = 200;
+
+    // Async trace slice shown while in each refresh state, none while idle
+    private static final String[] TRACE_STATE_SLICES = new String[] {
+            null, "GsSRL dragging", "GsSRL armed", "GsSRL settling", "GsSRL refreshing",
+            "GsSRL dismissing"
+    };
+    // Async trace slice from the refresh being triggered until it is finished
+    private static final String TRACE_REFRESH_SLICE = "GsSRL refresh";
+
+    // Default offset in dips from the top of the view to where the progress spinner should stop
+    private static final int DEFAULT_CIRCLE_TARGET = 64;
+
+    // What postRefreshing() last asked for and has not been applied yet
+    private static final int POSTED_NONE = 0;
+    private static final int POSTED_REFRESHING = 1;
+    private static final int POSTED_NOT_REFRESHING = 2;
+
+    // Delivers postRefreshing() requests and loader results, shared by every layout
+    static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private View mTarget; // the target of the gesture
+    OnRefreshListener mListener;
+    // Takes over from mListener when set
+    private RefreshHandler mRefreshHandler;
+    // Whether a pull, settle, refresh or dismiss is going on, see GsRefreshState
+    final GsRefreshState mRefreshState = new GsRefreshState();
+    private int mTouchSlop;
+    //触发刷新所需要的偏移量（手指在屏幕上总共需要拖拽多少距离才可以触发刷新）
+    private float mTotalDragDistance = -1;
+
+    // If nested scrolling is enabled, the total amount that needed to be
+    // consumed by this as the nested scrolling parent is used in place of the
+    // overscroll determined by MOVE events in the onTouch handler
+    private float mTotalUnconsumed;
+    // Both helpers are only created once a nested scroll actually happens
+    private NestedScrollingParentHelper mNestedScrollingParentHelper;
+    private NestedScrollingChildHelper mNestedScrollingChildHelper;
+    private boolean mNestedScrollingEnabled;
+    private final int[] mParentScrollConsumed = new int[2];
+    private final int[] mParentOffsetInWindow = new int[2];
+    private boolean mNestedScrollInProgress;
+
+    private int mMediumAnimationDuration;
+    int mCurrentTargetOffsetTop;
+
+    private float mInitialMotionY;
+    private float mInitialDownY;
+    // Overscroll of a returning indicator grabbed by the current gesture
+    private float mCapturedOverscroll;
+    private boolean mIsBeingDragged;
+    private int mActivePointerId = INVALID_POINTER;
+
+    private VelocityTracker mVelocityTracker;
+    private int mMaximumVelocity;
+    private float mRefreshFlingVelocity;
+    // Pull velocity reported by the nested scrolling child when it was flung
+    private float mNestedFlingVelocity;
+    // Speed of the indicator on release, used to shorten the settle animation
+    private float mReleaseVelocity;
+
+    private GsTouchPredictor mTouchPredictor;
+    private float mFrameIntervalMs = 1000f / DEFAULT_REFRESH_RATE;
+    // Whether this item is scaled up rather than clipped
+    boolean mScale;
+
+    private static final int[] LAYOUT_ATTRS = new int[] {
+            android.R.attr.enabled
+    };
+
+    // The refresh indicator, created the first time it is needed
+    GsRefreshHeader mHeader;
+    View mHeaderView;
+    private int mHeaderViewIndex = -1;
+    private GsRefreshHeaderPool mHeaderPool;
+    private boolean mHeaderFromPool;
+
+    // Style of the default circle header, applied when it is created
+    private int mProgressSize = CircularProgressDrawable.DEFAULT;
+    private int[] mColorSchemeColors = GsCircleRefreshHeader.DEFAULT_COLOR_SCHEME;
+    private int mProgressBackgroundColor = GsCircleRefreshHeader.CIRCLE_BG_LIGHT;
+
+    protected int mOriginalOffsetTop;
+
+    int mSpinnerOffsetEnd;//触发刷新时，指示器所在的位置（距离顶部的位置）
+
+    // Moves and scales the indicator, created with the header
+    private GsIndicatorAnimator mIndicatorAnimator;
+
+    boolean mNotify;
+
+    private int mCircleDiameter;
+
+    // Whether the client has set a custom starting position;
+    boolean mUsingCustomStart;
+
+    private OnChildScrollUpCallback mChildScrollUpCallback;
+    private OnChildScrollLeftCallback mChildScrollLeftCallback;
+
+    private int mScrollOrientation = ViewCompat.SCROLL_AXIS_VERTICAL;//滚动方向，默认垂直方向
+
+    // Load more at the bottom (or end, when scrolling horizontally) edge
+    OnLoadMoreListener mLoadMoreListener;
+    boolean mLoadMoreEnabled;
+    boolean mLoadingMore;
+    // How close, in the units of getChildDistanceToEnd(), the target has to get to its end
+    // before a load more is triggered. 0 means only once the end has actually been reached.
+    private int mLoadMorePrefetchDistance;
+    // Whether the target was within the prefetch distance when last checked; load more only
+    // triggers on getting there, not on every check while staying there
+    private boolean mInPrefetchWindow;
+    private int mLoadMoreInset;
+    GsCircleRefreshHeader mLoadMoreHeader;
+    private OnChildDistanceToEndCallback mChildDistanceToEndCallback;
+
+    // Whether the layout was on screen when last checked; spinners are paused while it isn't
+    private boolean mSpinnerVisible = true;
+    private final Rect mVisibleRect = new Rect();
+
+    private GsQualityPolicy mQualityPolicy;
+
+    // Written from any thread by postRefreshing(), taken on the main thread
+    private final AtomicInteger mPostedRefreshing = new AtomicInteger(POSTED_NONE);
+    // Identifies the work behind the current refresh across recreation, see setRefreshToken()
+    private String mRefreshToken;
+
+    // Bumped on the main thread when a refresh starts and when it ends, so it is odd while
+    // refreshing. Reports are tagged with it, a late one for a finished refresh is dropped.
+    private volatile int mRefreshGeneration;
+    // Written from any thread by setRefreshProgress(), sampled once per frame while
+    // refreshing: the generation in the upper, the float bits of the progress in the lower
+    // half
+    private volatile long mRefreshProgress = packRefreshProgress(0, PROGRESS_INDETERMINATE);
+    float mAppliedRefreshProgress = PROGRESS_INDETERMINATE;
+    private final GsFrameTicker.Callback mRefreshProgressSampler = new GsFrameTicker.Callback() {
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            if (mRefreshState.get() != GsRefreshState.REFRESHING
+                    || !(mHeader instanceof GsRefreshHeader.Determinate)) {
+                return false;
+            }
+            final long packed = mRefreshProgress;
+            final float progress = (int) (packed >>> 32) == mRefreshGeneration
+                    ? Float.intBitsToFloat((int) packed) : PROGRESS_INDETERMINATE;
+            if (progress != mAppliedRefreshProgress) {
+                mAppliedRefreshProgress = progress;
+                ((GsRefreshHeader.Determinate) mHeader).onRefreshProgress(progress);
+            }
+            return true;
+        }
+    };
+
+    private final Runnable mApplyPostedRefreshing = new Runnable() {
+        @Override
+        public void run() {
+            final int posted = mPostedRefreshing.getAndSet(POSTED_NONE);
+            if (posted != POSTED_NONE) {
+                setRefreshing(posted == POSTED_REFRESHING);
+            }
+        }
+    };
+
+    // Only set while slow callbacks are watched for, see setSlowCallbackWatchdog()
+    private GsCallbackWatchdog mCallbackWatchdog;
+    // Only set while the debug overlay is on, see setDebugHudEnabled()
+    private GsDebugHud mDebugHud;
+
+    // Tells the async trace slices of this layout apart from those of other layouts
+    private final int mTraceCookie = System.identityHashCode(this);
+    private String mOffsetCounterName;
+
+    private final GsRefreshState.Listener mRefreshStateListener = new GsRefreshState.Listener() {
+        @Override
+        public void onStateChanged(int from, int to) {
+            final boolean wasRefreshing = from == GsRefreshState.SETTLING
+                    || from == GsRefreshState.REFRESHING;
+            if (wasRefreshing != mRefreshState.isRefreshing()) {
+                mRefreshGeneration++;
+            }
+            updateDebugHud();
+            if (!GsTrace.isEnabled()) {
+                return;
+            }
+            if (from != GsRefreshState.IDLE) {
+                GsTrace.endAsyncSection(TRACE_STATE_SLICES[from], mTraceCookie);
+            }
+            if (to != GsRefreshState.IDLE) {
+                GsTrace.beginAsyncSection(TRACE_STATE_SLICES[to], mTraceCookie);
+            }
+            if (!wasRefreshing && mRefreshState.isRefreshing()) {
+                GsTrace.beginAsyncSection(TRACE_REFRESH_SLICE, mTraceCookie);
+            } else if (wasRefreshing && !mRefreshState.isRefreshing()) {
+                GsTrace.endAsyncSection(TRACE_REFRESH_SLICE, mTraceCookie);
+            }
+        }
+    };
+
+    private final ViewTreeObserver.OnScrollChangedListener mScrollChangedListener =
+            new ViewTreeObserver.OnScrollChangedListener() {
+                @Override
+                public void onScrollChanged() {
+                    checkLoadMore();
+                    updateSpinnerVisibility();
+                }
+            };
+
+    /**
+     * Applies the position and scale channels to the indicator. Subclasses add what happens
+     * once a channel ends.
+     */
+    private class IndicatorChannelListener implements GsIndicatorAnimator.ChannelListener {
+        @Override
+        public void onChannelUpdate(int channel, float value) {
+            if (channel == GsIndicatorAnimator.CHANNEL_SCALE) {
+                setAnimationProgress(value);
+            } else if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+                setTargetOffsetLeftAndRight((int) value - mCurrentTargetOffsetTop);
+            }else {
+                setTargetOffsetTopAndBottom((int) value - mCurrentTargetOffsetTop);
+            }
+        }
+
+        @Override
+        public void onChannelEnd(int channel) {
+        }
+    }
+
+    private final IndicatorChannelListener mIndicatorChannelListener =
+            new IndicatorChannelListener();
+
+    private final IndicatorChannelListener mRefreshListener = new IndicatorChannelListener() {
+        @Override
+        public void onChannelEnd(int channel) {
+            if (mRefreshState.isRefreshing()) {
+                mRefreshState.dispatch(GsRefreshState.EVENT_SETTLED);
+                startRefreshing(mHeader);
+                if (mNotify) {
+                    if (mListener != null || mRefreshHandler != null) {
+                        notifyRefresh();
+                    }
+                }
+                if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+                    mCurrentTargetOffsetTop = mHeaderView.getLeft();
+                }else {
+                    mCurrentTargetOffsetTop = mHeaderView.getTop();
+                }
+            } else {
+                reset();
+            }
+        }
+    };
+
+    // Once back at the start, shrink the indicator away
+    private final IndicatorChannelListener mReturnToStartListener = new IndicatorChannelListener() {
+        @Override
+        public void onChannelEnd(int channel) {
+            if (!mScale) {
+                startScaleDownAnimation(mRefreshListener);
+            }
+        }
+    };
+
+    private void notifyRefresh() {
+        if (mDebugHud != null) {
+            mDebugHud.onRefresh();
+        }
+        final long start = mCallbackWatchdog != null ? mCallbackWatchdog.begin() : 0;
+        try {
+            if (mRefreshHandler != null) {
+                mRefreshHandler.onRefresh(this);
+            } else {
+                mListener.onRefresh();
+            }
+        } finally {
+            if (mCallbackWatchdog != null) {
+                mCallbackWatchdog.end(start,
+                        mRefreshHandler != null ? mRefreshHandler : mListener, "onRefresh");
+            }
+        }
+    }
+
+    private void completeHeader(GsRefreshHeader header) {
+        if (mCallbackWatchdog == null) {
+            header.onComplete();
+            return;
+        }
+        final long start = mCallbackWatchdog.begin();
+        try {
+            header.onComplete();
+        } finally {
+            mCallbackWatchdog.end(start, header, "onComplete");
+        }
+    }
+
+    void reset() {
+        GsLog.e(TAG, "reset 重置");
+        mRefreshState.dispatch(GsRefreshState.EVENT_RESET);
+        GsFrameTicker.getInstance().removeCallback(mRefreshProgressSampler);
+        if (!mRefreshState.isRefreshing()) {
+            // The next refresh has no work behind it yet. Its progress starts out
+            // indeterminate by itself, the generation has moved on.
+            mRefreshToken = null;
+        }
+        if (mHeaderView == null) {
+            // Nothing has been shown yet
+            mCurrentTargetOffsetTop = mOriginalOffsetTop;
+            return;
+        }
+        mIndicatorAnimator.cancelAll();
+        completeHeader(mHeader);
+        mHeaderView.setVisibility(View.GONE);
+        if (mQualityPolicy != null && !mLoadingMore) {
+            mQualityPolicy.stopSampling();
+        }
+        // Return the circle to its start position
+        if (mScale) {
+            setAnimationProgress(0 /* animation complete and view is hidden */);
+        } else {
+            if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+                setTargetOffsetLeftAndRight(mOriginalOffsetTop - mCurrentTargetOffsetTop);
+            }else {
+                setTargetOffsetTopAndBottom(mOriginalOffsetTop - mCurrentTargetOffsetTop);
+            }
+        }
+        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+            mCurrentTargetOffsetTop = mHeaderView.getLeft();
+        }else {
+            mCurrentTargetOffsetTop = mHeaderView.getTop();
+        }
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        if (!enabled) {
+            reset();
+        }
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        final SavedState ss = new SavedState(super.onSaveInstanceState());
+        ss.refreshing = mRefreshState.isRefreshing();
+        ss.originalOffsetTop = mOriginalOffsetTop;
+        ss.spinnerOffsetEnd = mSpinnerOffsetEnd;
+        ss.usingCustomStart = mUsingCustomStart;
+        ss.refreshToken = mRefreshToken;
+        return ss;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        final SavedState ss = (SavedState) state;
+        super.onRestoreInstanceState(ss.getSuperState());
+        mOriginalOffsetTop = ss.originalOffsetTop;
+        mSpinnerOffsetEnd = ss.spinnerOffsetEnd;
+        mUsingCustomStart = ss.usingCustomStart;
+        if (ss.refreshing && !mRefreshState.isRefreshing()) {
+            restoreRefreshing();
+        } else if (mHeaderView == null) {
+            mCurrentTargetOffsetTop = mOriginalOffsetTop;
+        }
+        mRefreshToken = ss.refreshToken;
+    }
+
+    /**
+     * Show the indicator spinning at its refreshing position right away, without the settle
+     * animation and without telling the listener, whose refresh is still going on.
+     */
+    private void restoreRefreshing() {
+        mRefreshState.dispatch(GsRefreshState.EVENT_ABORT);
+        mRefreshState.dispatch(GsRefreshState.EVENT_TRIGGER);
+        mRefreshState.dispatch(GsRefreshState.EVENT_SETTLED);
+        mNotify = false;
+        ensureHeader();
+        mIndicatorAnimator.cancelAll();
+        final int target = getRefreshingOffset();
+        if (mHeaderView.getWidth() == 0) {
+            // Not laid out yet, it will be laid out there
+            mCurrentTargetOffsetTop = target;
+        } else if (mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL) {
+            setTargetOffsetLeftAndRight(target - mCurrentTargetOffsetTop);
+        } else {
+            setTargetOffsetTopAndBottom(target - mCurrentTargetOffsetTop);
+        }
+        setAnimationProgress(1f);
+        mHeaderView.setVisibility(View.VISIBLE);
+        startRefreshing(mHeader);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnScrollChangedListener(mScrollChangedListener);
+        updateSpinnerVisibility();
+        final Display display = ViewCompat.getDisplay(this);
+        final float refreshRate = display != null ? display.getRefreshRate() : 0;
+        mFrameIntervalMs = 1000f / (refreshRate > 0 ? refreshRate : DEFAULT_REFRESH_RATE);
+        if (mDebugHud != null) {
+            mDebugHud.setFrameInterval(mFrameIntervalMs);
+        }
+        if (mQualityPolicy != null) {
+            mQualityPolicy.setFrameInterval(mFrameIntervalMs);
+        }
+        updateDebugHud();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        getViewTreeObserver().removeOnScrollChangedListener(mScrollChangedListener);
+        recycleVelocityTracker();
+        reset();
+        if (mHeaderFromPool) {
+            // Let another layout on this screen reuse the header
+            removeHeader();
+        }
+        if (mLoadMoreHeader != null) {
+            completeHeader(mLoadMoreHeader);
+        }
+        // Still counts as attached while being detached
+        if (mDebugHud != null) {
+            mDebugHud.setActive(false);
+        }
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateSpinnerVisibility();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateSpinnerVisibility();
+    }
+
+    /**
+     * Start a header's refreshing animation, paused right away if the layout can't be seen.
+     */
+    private void startRefreshing(GsRefreshHeader header) {
+        applyQuality();
+        if (mCallbackWatchdog == null) {
+            header.onRefreshing();
+        } else {
+            final long start = mCallbackWatchdog.begin();
+            try {
+                header.onRefreshing();
+            } finally {
+                mCallbackWatchdog.end(start, header, "onRefreshing");
+            }
+        }
+        if (header == mHeader && header instanceof GsRefreshHeader.Determinate) {
+            // Progress may have been reported while the indicator was settling
+            mAppliedRefreshProgress = PROGRESS_INDETERMINATE;
+            GsFrameTicker.getInstance().addCallback(mRefreshProgressSampler);
+        }
+        mSpinnerVisible = isSpinnerVisible();
+        if (!mSpinnerVisible) {
+            if (header instanceof GsRefreshHeader.VisibilityAware) {
+                ((GsRefreshHeader.VisibilityAware) header).onVisibilityChanged(false);
+            }
+        } else {
+            // Watch how the device copes with the running spinner
+            getQualityPolicy().startSampling();
+        }
+    }
+
+    /**
+     * Pause the spinners while this layout is hidden, in a hidden window or scrolled off
+     * screen, and resume them once it can be seen again. The refreshing state itself does
+     * not change.
+     */
+    void updateSpinnerVisibility() {
+        if (!mRefreshState.isRefreshing() && !mLoadingMore) {
+            return;
+        }
+        final boolean visible = isSpinnerVisible();
+        if (visible == mSpinnerVisible) {
+            return;
+        }
+        mSpinnerVisible = visible;
+        if (visible) {
+            getQualityPolicy().startSampling();
+        } else if (mQualityPolicy != null) {
+            mQualityPolicy.stopSampling();
+        }
+        if (mRefreshState.isRefreshing() && mHeader instanceof GsRefreshHeader.VisibilityAware) {
+            ((GsRefreshHeader.VisibilityAware) mHeader).onVisibilityChanged(visible);
+        }
+        if (mLoadingMore && mLoadMoreHeader != null) {
+            mLoadMoreHeader.onVisibilityChanged(visible);
+        }
+    }
+
+    private boolean isSpinnerVisible() {
+        return getWindowVisibility() == View.VISIBLE && isShown()
+                && getGlobalVisibleRect(mVisibleRect);
+    }
+
+    private GsQualityPolicy getQualityPolicy() {
+        if (mQualityPolicy == null) {
+            mQualityPolicy = new GsQualityPolicy(getContext(), new GsQualityPolicy.Listener() {
+                @Override
+                public void onQualityChanged() {
+                    applyQuality();
+                }
+            });
+            mQualityPolicy.setFrameInterval(mFrameIntervalMs);
+        }
+        return mQualityPolicy;
+    }
+
+    /**
+     * Turn systrace/Perfetto instrumentation of every GsSwipeRefreshLayout on or off. While
+     * on, touch handling, nested scrolling, measure, layout and the spinner moves show up as
+     * trace sections, each refresh state and the refresh as a whole as async slices, and the
+     * indicator offset as a counter. Off by default; while off it costs a flag check per
+     * call.
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        GsTrace.setEnabled(enabled);
+    }
+
+    /**
+     * Watch for listener and header callbacks that hold up the main thread: onRefresh(),
+     * onLoadMore(), and the header's onRefreshing() and onComplete(), the latter being what
+     * setRefreshing(false) and setLoadingMore(false) end up in. Any call that takes longer
+     * than the budget is reported to the sink, or logged if there is none. Off by default.
+     *
+     * @param budgetMs How long a callback may take, or 0 to stop watching.
+     * @param sink Where slow calls are reported, null to log them instead.
+     * @param captureStack Whether to snapshot the main thread stack once the budget runs
+     *                     out, to show what the callback was stuck on. Costs a message to a
+     *                     background thread per call.
+     */
+    public void setSlowCallbackWatchdog(long budgetMs, @Nullable OnSlowCallbackListener sink,
+                                        boolean captureStack) {
+        mCallbackWatchdog = budgetMs > 0
+                ? new GsCallbackWatchdog(budgetMs, sink, captureStack) : null;
+    }
+
+    /**
+     * Show a debug overlay over the content while the user pulls and while refreshing, with
+     * frame durations, dropped frames, the drag percent, the time spent in moving the
+     * indicator and the time since onRefresh() was called. Meant for spotting jank by eye
+     * on test builds. Off by default, and costs nothing while off.
+     */
+    public void setDebugHudEnabled(boolean enabled) {
+        if (enabled == (mDebugHud != null)) {
+            return;
+        }
+        if (enabled) {
+            mDebugHud = new GsDebugHud(this, mFrameIntervalMs);
+            updateDebugHud();
+        } else {
+            mDebugHud.setActive(false);
+            mDebugHud = null;
+        }
+    }
+
+    private void updateDebugHud() {
+        if (mDebugHud != null) {
+            mDebugHud.setActive(ViewCompat.isAttachedToWindow(this)
+                    && mRefreshState.get() != GsRefreshState.IDLE);
+        }
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+        if (mDebugHud != null) {
+            mDebugHud.draw(canvas);
+        }
+    }
+
+    /**
+     * Set how the indicator is drawn. In {@link #QUALITY_LOW} the alpha fades are skipped,
+     * the circle is drawn flat without a shadow and the spinner redraws at a reduced rate.
+     * {@link #QUALITY_AUTO}, the default, picks low quality on low RAM devices, in power
+     * save mode, or after the spinner has been seen dropping frames.
+     *
+     * @param quality One of {@link #QUALITY_AUTO}, {@link #QUALITY_HIGH} or
+     *                {@link #QUALITY_LOW}.
+     */
+    public void setIndicatorQuality(int quality) {
+        if (quality != QUALITY_AUTO && quality != QUALITY_HIGH && quality != QUALITY_LOW) {
+            return;
+        }
+        getQualityPolicy().setRequestedQuality(quality);
+        applyQuality();
+    }
+
+    /**
+     * @return The quality the indicator is currently drawn at, {@link #QUALITY_HIGH} or
+     *         {@link #QUALITY_LOW}.
+     */
+    public int getIndicatorQuality() {
+        return getQualityPolicy().resolve();
+    }
+
+    private void applyQuality() {
+        if (!(mHeader instanceof GsCircleRefreshHeader) && mLoadMoreHeader == null) {
+            return;
+        }
+        final boolean lowQuality = getQualityPolicy().resolve() == QUALITY_LOW;
+        if (mHeader instanceof GsCircleRefreshHeader) {
+            ((GsCircleRefreshHeader) mHeader).setLowQuality(lowQuality);
+        }
+        if (mLoadMoreHeader != null) {
+            mLoadMoreHeader.setLowQuality(lowQuality);
+        }
+    }
+
+    /**
+     * The refresh indicator starting and resting position is always positioned
+     * near the top of the refreshing content. This position is a consistent
+     * location, but can be adjusted in either direction based on whether or not
+     * there is a toolbar or actionbar present.
+     * <p>
+     * <strong>Note:</strong> Calling this will reset the position of the refresh indicator to
+     * <code>start</code>.
+     * </p>
+     *
+     * @param scale Set to true if there is no view at a higher z-order than where the progress
+     *              spinner is set to appear. Setting it to true will cause indicator to be scaled
+     *              up rather than clipped.
+     * @param start The offset in pixels from the top of this view at which the
+     *              progress spinner should appear.
+     * @param end The offset in pixels from the top of this view at which the
+     *            progress spinner should come to rest after a successful swipe
+     *            gesture.
+     */
+    public void setProgressViewOffset(boolean scale, int start, int end) {
+        mScale = scale;
+        mOriginalOffsetTop = start;
+        mSpinnerOffsetEnd = end;
+        mUsingCustomStart = true;
+        mRefreshState.dispatch(GsRefreshState.EVENT_ABORT);
+        reset();
+    }
+
+    /**
+     * @return The offset in pixels from the top of this view at which the progress spinner should
+     *         appear.
+     */
+    public int getProgressViewStartOffset() {
+        return mOriginalOffsetTop;
+    }
+
+    /**
+     * @return The offset in pixels from the top of this view at which the progress spinner should
+     *         come to rest after a successful swipe gesture.
+     */
+    public int getProgressViewEndOffset() {
+        return mSpinnerOffsetEnd;
+    }
+
+    /**
+     * The refresh indicator resting position is always positioned near the top
+     * of the refreshing content. This position is a consistent location, but
+     * can be adjusted in either direction based on whether or not there is a
+     * toolbar or actionbar present.
+     *
+     * @param scale Set to true if there is no view at a higher z-order than where the progress
+     *              spinner is set to appear. Setting it to true will cause indicator to be scaled
+     *              up rather than clipped.
+     * @param end The offset in pixels from the top of this view at which the
+     *            progress spinner should come to rest after a successful swipe
+     *            gesture.
+     */
+    public void setProgressViewEndTarget(boolean scale, int end) {
+        mSpinnerOffsetEnd = end;
+        mScale = scale;
+        if (mHeaderView != null) {
+            mHeaderView.invalidate();
+        }
+    }
+
+    /**
+     * One of DEFAULT, or LARGE.
+     */
+    public void setSize(int size) {
+        if (size != CircularProgressDrawable.LARGE && size != CircularProgressDrawable.DEFAULT) {
+            return;
+        }
+        final DisplayMetrics metrics = getResources().getDisplayMetrics();
+        if (size == CircularProgressDrawable.LARGE) {
+            mCircleDiameter = (int) (CIRCLE_DIAMETER_LARGE * metrics.density);
+        } else {
+            mCircleDiameter = (int) (CIRCLE_DIAMETER * metrics.density);
+        }
+        mProgressSize = size;
+        if (mHeader instanceof GsCircleRefreshHeader) {
+            ((GsCircleRefreshHeader) mHeader).setSize(size);
+        }
+        if (mLoadMoreHeader != null) {
+            mLoadMoreHeader.setSize(size);
+        }
+    }
+
+    /**
+     * Simple constructor to use when creating a GsSwipeRefreshLayout from code.
+     *
+     * @param context
+     */
+    public GsSwipeRefreshLayout(@NonNull Context context) {
+        this(context, null);
+    }
+
+    /**
+     * Constructor that is called when inflating GsSwipeRefreshLayout from XML.
+     *
+     * @param context
+     * @param attrs
+     */
+    public GsSwipeRefreshLayout(@NonNull Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        GsLog.e(TAG, "GsSwipeRefreshLayout 构造方法");
+        final ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMaximumVelocity = configuration.getScaledMaximumFlingVelocity();
+
+        mMediumAnimationDuration = getResources().getInteger(
+                android.R.integer.config_mediumAnimTime);
+
+        setWillNotDraw(false);
+
+        final DisplayMetrics metrics = getResources().getDisplayMetrics();
+        mCircleDiameter = (int) (CIRCLE_DIAMETER * metrics.density);
+
+        setChildrenDrawingOrderEnabled(true);
+        // the absolute offset has to take into account that the circle starts at an offset
+        // 触发刷新时，指示器所在的位置（距离顶部的位置）
+        mSpinnerOffsetEnd = (int) (DEFAULT_CIRCLE_TARGET * metrics.density);
+        // the load more indicator rests as far from the end edge as the refresh indicator
+        // rests from the start edge by default
+        mLoadMoreInset = mSpinnerOffsetEnd - mCircleDiameter;
+        //手指在屏幕上总共需要拖拽多少距离才可以触发刷新，默认是等于触发刷新的
+        //偏离距离，如果自定义很大值，则需要拖动很大距离才可以触发刷新
+        mTotalDragDistance = mSpinnerOffsetEnd;
+        mRefreshFlingVelocity = DEFAULT_REFRESH_FLING_VELOCITY * metrics.density;
+        setNestedScrollingEnabled(true);
+        mRefreshState.setListener(mRefreshStateListener);
+
+        // The indicator, its drawable and animations are only created on the first pull or
+        // setRefreshing(true); until then it just has to remember where it starts
+        mOriginalOffsetTop = mCurrentTargetOffsetTop = -mCircleDiameter;
+
+        final TypedArray a = context.obtainStyledAttributes(attrs, LAYOUT_ATTRS);
+        setEnabled(a.getBoolean(0, true));
+        a.recycle();
+        GsLog.e(TAG, "mTotalDragDistance="+mTotalDragDistance +
+                " mOriginalOffsetTop="+mOriginalOffsetTop);
+    }
+
+    @Override
+    protected int getChildDrawingOrder(int childCount, int i) {
+        //Log.e(TAG, "getChildDrawingOrder childCount="+childCount+" i="+i);
+        if (mHeaderViewIndex < 0) {
+            return i;
+        } else if (i == childCount - 1) {
+            // Draw the selected child last
+            return mHeaderViewIndex;
+        } else if (i >= mHeaderViewIndex) {
+            // Move the children after the selected child earlier one
+            return i + 1;
+        } else {
+            // Keep the children before the selected child the same
+            return i;
+        }
+    }
+
+    /**
+     * Create the refresh header if this is the first time it is needed: from the header pool
+     * when there is one, otherwise the default circle.
+     */
+    private void ensureHeader() {
+        if (mHeader != null) {
+            return;
+        }
+        if (mHeaderPool != null) {
+            addHeader(mHeaderPool.obtain(getContext()), true);
+        } else {
+            addHeader(new GsCircleRefreshHeader(getContext()), false);
+        }
+    }
+
+    private void addHeader(GsRefreshHeader header, boolean fromPool) {
+        mHeader = header;
+        mHeaderFromPool = fromPool;
+        mHeaderView = header.getView();
+        if (mIndicatorAnimator == null) {
+            mIndicatorAnimator = new GsIndicatorAnimator();
+        }
+        if (header instanceof GsCircleRefreshHeader) {
+            // Its fades then run in the same frame pass as the moves of the layout
+            ((GsCircleRefreshHeader) header).setAnimator(mIndicatorAnimator);
+            applyCircleStyle((GsCircleRefreshHeader) header);
+        }
+        mHeaderView.setVisibility(View.GONE);
+        mHeaderView.setScaleX(1f);
+        mHeaderView.setScaleY(1f);
+        addView(mHeaderView);
+        // Created in the middle of a gesture, so place it now rather than on the next layout
+        if (getWidth() > 0 && getHeight() > 0) {
+            measureHeader();
+            layoutHeader(getWidth(), getHeight());
+        } else if (mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL) {
+            // Not laid out yet, but moves before the first layout, e.g. setRefreshing(true)
+            // from onCreate, offset it from where the layout will put it
+            mHeaderView.layout(mCurrentTargetOffsetTop, 0, mCurrentTargetOffsetTop, 0);
+        } else {
+            mHeaderView.layout(0, mCurrentTargetOffsetTop, 0, mCurrentTargetOffsetTop);
+        }
+    }
+
+    private void removeHeader() {
+        if (mHeader == null) {
+            return;
+        }
+        mIndicatorAnimator.cancelAll();
+        removeView(mHeaderView);
+        if (mHeaderFromPool) {
+            mHeaderPool.release(mHeader);
+        } else {
+            completeHeader(mHeader);
+        }
+        if (mHeader instanceof GsCircleRefreshHeader) {
+            ((GsCircleRefreshHeader) mHeader).setAnimator(null);
+        }
+        mHeader = null;
+        mHeaderView = null;
+        mHeaderViewIndex = -1;
+        mHeaderFromPool = false;
+        mCurrentTargetOffsetTop = mOriginalOffsetTop;
+    }
+
+    private void applyCircleStyle(GsCircleRefreshHeader header) {
+        header.setSize(mProgressSize);
+        header.setColorSchemeColors(mColorSchemeColors);
+        header.setBackgroundColor(mProgressBackgroundColor);
+        header.setLowQuality(getQualityPolicy().resolve() == QUALITY_LOW);
+    }
+
+    /**
+     * Replace the refresh indicator with a custom header. Calling this resets the indicator
+     * to its start position. Headers larger than the default circle should also move the
+     * start position with {@link #setProgressViewOffset(boolean, int, int)}.
+     *
+     * @param header The header to show, or null to go back to the default circle.
+     */
+    public void setRefreshHeader(@Nullable GsRefreshHeader header) {
+        removeHeader();
+        mHeaderPool = null;
+        if (header != null) {
+            addHeader(header, false);
+        }
+        reset();
+    }
+
+    /**
+     * Obtain the refresh indicator from a pool shared with other layouts. The header is
+     * obtained the first time it is needed and handed back when this layout is detached from
+     * its window. Calling this resets the indicator to its start position.
+     *
+     * @param pool The pool to obtain headers from, or null to go back to the default circle.
+     */
+    public void setRefreshHeaderPool(@Nullable GsRefreshHeaderPool pool) {
+        removeHeader();
+        mHeaderPool = pool;
+        reset();
+    }
+
+    private void ensureLoadMoreView() {
+        if (mLoadMoreHeader != null) {
+            return;
+        }
+        mLoadMoreHeader = new GsCircleRefreshHeader(getContext());
+        mLoadMoreHeader.setSize(mProgressSize);
+        mLoadMoreHeader.getView().setVisibility(View.GONE);
+        addView(mLoadMoreHeader.getView());
+    }
+
+    /**
+     * Set the listener to be notified when a refresh is triggered via the swipe
+     * gesture.
+     */
+    public void setOnRefreshListener(@Nullable OnRefreshListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Hand refreshes triggered by the swipe gesture to a handler that decides what to load
+     * and when to stop refreshing, e.g. a {@link GsRefreshPolicy}. While set, the
+     * {@link OnRefreshListener} is not called.
+     */
+    public void setRefreshHandler(@Nullable RefreshHandler handler) {
+        mRefreshHandler = handler;
+    }
+
+    /**
+     * Set the listener to be notified when the target reaches, or comes within the
+     * prefetch distance of, its bottom (or end) edge. It is notified once on getting there,
+     * and again only after the target has left that distance, and not at all while its
+     * content fits without scrolling.
+     */
+    public void setOnLoadMoreListener(@Nullable OnLoadMoreListener listener) {
+        mLoadMoreListener = listener;
+    }
+
+    /**
+     * Enable or disable load more at the bottom (or end) edge. Disabled by default.
+     */
+    public void setLoadMoreEnabled(boolean enabled) {
+        mLoadMoreEnabled = enabled;
+        if (enabled) {
+            ensureLoadMoreView();
+        } else {
+            setLoadingMore(false);
+        }
+    }
+
+    public boolean isLoadMoreEnabled() {
+        return mLoadMoreEnabled;
+    }
+
+    /**
+     * Set how close the target has to get to its end before the load more listener is
+     * notified, so the next page can be fetched before the user actually hits the end.
+     *
+     * @param distance Distance in the units returned by {@link #getChildDistanceToEnd()},
+     *                 pixels unless an {@link OnChildDistanceToEndCallback} says otherwise.
+     */
+    public void setLoadMorePrefetchDistance(int distance) {
+        mLoadMorePrefetchDistance = Math.max(0, distance);
+    }
+
+    public int getLoadMorePrefetchDistance() {
+        return mLoadMorePrefetchDistance;
+    }
+
+    /**
+     * Notify the widget that load more state has changed. Call this with false once the
+     * next page has been delivered.
+     *
+     * @param loadingMore Whether or not the view should show load more progress.
+     */
+    public void setLoadingMore(boolean loadingMore) {
+        if (mLoadingMore == loadingMore) {
+            return;
+        }
+        mLoadingMore = loadingMore;
+        if (loadingMore) {
+            ensureLoadMoreView();
+            mLoadMoreHeader.getView().setVisibility(View.VISIBLE);
+            startRefreshing(mLoadMoreHeader);
+        } else if (mLoadMoreHeader != null) {
+            completeHeader(mLoadMoreHeader);
+            mLoadMoreHeader.getView().setVisibility(View.GONE);
+            if (mQualityPolicy != null && !mRefreshState.isRefreshing()) {
+                mQualityPolicy.stopSampling();
+            }
+        }
+    }
+
+    /**
+     * @return Whether the load more indicator is showing.
+     */
+    public boolean isLoadingMore() {
+        return mLoadingMore;
+    }
+
+    /**
+     * Set the colors used in the load more progress animation.
+     */
+    public void setLoadMoreColorSchemeColors(@ColorInt int... colors) {
+        ensureLoadMoreView();
+        mLoadMoreHeader.setColorSchemeColors(colors);
+    }
+
+    void checkLoadMore() {
+        if (!mLoadMoreEnabled || mLoadingMore || mRefreshState.isRefreshing()
+                || mLoadMoreListener == null
+                || !isEnabled()) {
+            return;
+        }
+        ensureTarget();
+        if (mTarget == null) {
+            return;
+        }
+        // Content that fits without scrolling has no end to get to, e.g. an empty list
+        if (!canChildScroll()) {
+            mInPrefetchWindow = false;
+            return;
+        }
+        final boolean wasInPrefetchWindow = mInPrefetchWindow;
+        mInPrefetchWindow = getChildDistanceToEnd() <= mLoadMorePrefetchDistance;
+        if (mInPrefetchWindow && !wasInPrefetchWindow) {
+            setLoadingMore(true);
+            if (mCallbackWatchdog == null) {
+                mLoadMoreListener.onLoadMore();
+            } else {
+                final long start = mCallbackWatchdog.begin();
+                try {
+                    mLoadMoreListener.onLoadMore();
+                } finally {
+                    mCallbackWatchdog.end(start, mLoadMoreListener, "onLoadMore");
+                }
+            }
+        }
+    }
+
+    /**
+     * Notify the widget that refresh state has changed. Do not call this when
+     * refresh is triggered by a swipe gesture.
+     *
+     * @param refreshing Whether or not the view should show refresh progress.
+     */
+    public void setRefreshing(boolean refreshing) {
+        GsLog.e(TAG, "setRefreshing1 refreshing="+refreshing);
+        if (refreshing && !mRefreshState.isRefreshing()) {
+            // scale and show
+            mRefreshState.dispatch(GsRefreshState.EVENT_TRIGGER);
+            ensureHeader();
+            int endTarget = 0;
+            if (!mUsingCustomStart) {
+                endTarget = mSpinnerOffsetEnd + mOriginalOffsetTop;
+            } else {
+                endTarget = mSpinnerOffsetEnd;
+            }
+            if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+                setTargetOffsetLeftAndRight(endTarget - mCurrentTargetOffsetTop);
+            }else {
+                setTargetOffsetTopAndBottom(endTarget - mCurrentTargetOffsetTop);
+            }
+            mNotify = false;
+            startScaleUpAnimation(mRefreshListener);
+        } else {
+            setRefreshing(refreshing, false /* notify */);
+        }
+    }
+
+    /**
+     * Same as {@link #setRefreshing(boolean)}, but may be called from any thread, e.g. right
+     * from the loader thread once the data is in. Calls made before the main thread gets to
+     * them are coalesced: only the last one is applied, and however many there are, the main
+     * thread is only posted to once.
+     *
+     * @param refreshing Whether or not the view should show refresh progress.
+     */
+    public void postRefreshing(boolean refreshing) {
+        final int previous = mPostedRefreshing.getAndSet(
+                refreshing ? POSTED_REFRESHING : POSTED_NOT_REFRESHING);
+        if (previous == POSTED_NONE) {
+            MAIN_HANDLER.post(mApplyPostedRefreshing);
+        }
+    }
+
+    /**
+     * Attach an app defined token to the current refresh, e.g. the id of the request being
+     * loaded. It is saved with the instance state, so after the activity is recreated the
+     * app can tell which load the restored indicator belongs to and pick it up instead of
+     * starting another one. Cleared once the refresh is finished.
+     */
+    public void setRefreshToken(@Nullable String token) {
+        mRefreshToken = token;
+    }
+
+    /**
+     * @return The token set with {@link #setRefreshToken(String)} or restored with the
+     *         instance state, null if none or the refresh is finished.
+     */
+    @Nullable
+    public String getRefreshToken() {
+        return mRefreshToken;
+    }
+
+    /**
+     * Report how far along the refresh is, to have the indicator fill up with it instead of
+     * spinning. May be called from any thread and as often as the loader likes: the
+     * indicator only picks up the latest value once per frame. Only the default indicator
+     * and headers implementing {@link GsRefreshHeader.Determinate} show it, and the
+     * progress is forgotten once the refresh is finished. Reports made while not
+     * refreshing, including late ones racing the end of the refresh, are dropped.
+     *
+     * @param progress From 0 to 1, or {@link #PROGRESS_INDETERMINATE} or NaN to spin again.
+     */
+    public void setRefreshProgress(float progress) {
+        final int generation = mRefreshGeneration;
+        if ((generation & 1) == 0) {
+            return;
+        }
+        final float clamped = Float.isNaN(progress) || progress < 0
+                ? PROGRESS_INDETERMINATE : Math.min(1f, progress);
+        mRefreshProgress = packRefreshProgress(generation, clamped);
+    }
+
+    private static long packRefreshProgress(int generation, float progress) {
+        return ((long) generation << 32) | (Float.floatToIntBits(progress) & 0xffffffffL);
+    }
+
+    private void startScaleUpAnimation(GsIndicatorAnimator.ChannelListener listener) {
+        //Log.e(TAG, "startScaleUpAnimation()");
+        mHeaderView.setVisibility(View.VISIBLE);
+        mHeader.onRelease(true);
+        // Already placed at the refreshing position
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_POSITION);
+        mIndicatorAnimator.start(GsIndicatorAnimator.CHANNEL_SCALE, 0f, 1f,
+                mMediumAnimationDuration, null, listener);
+    }
+
+    /**
+     * Pre API 11, this does an alpha animation.
+     * @param progress
+     */
+    void setAnimationProgress(float progress) {
+        mHeaderView.setScaleX(progress);
+        mHeaderView.setScaleY(progress);
+    }
+
+    private void setRefreshing(boolean refreshing, final boolean notify) {
+        GsLog.e(TAG, "setRefreshing2 refreshing="+refreshing+" notify="+notify);
+        if (mRefreshState.isRefreshing() != refreshing) {
+            mNotify = notify;
+            ensureTarget();
+            mRefreshState.dispatch(refreshing
+                    ? GsRefreshState.EVENT_TRIGGER : GsRefreshState.EVENT_FINISH);
+            if (refreshing) {
+                animateOffsetToCorrectPosition(mCurrentTargetOffsetTop, mRefreshListener);
+            } else if (mHeaderView == null) {
+                // The indicator was never shown, so there is nothing to animate out
+                reset();
+            } else {
+                startScaleDownAnimation(mRefreshListener);
+            }
+        }
+    }
+
+    void startScaleDownAnimation(GsIndicatorAnimator.ChannelListener listener) {
+        //Log.e(TAG, "startScaleDownAnimation()");
+        // Shrink away wherever the indicator is now
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_POSITION);
+        mIndicatorAnimator.start(GsIndicatorAnimator.CHANNEL_SCALE, 1f, 0f,
+                SCALE_DOWN_DURATION, null, listener);
+    }
+
+    /**
+     * @deprecated Use {@link #setProgressBackgroundColorSchemeResource(int)}
+     */
+    @Deprecated
+    public void setProgressBackgroundColor(int colorRes) {
+        setProgressBackgroundColorSchemeResource(colorRes);
+    }
+
+    /**
+     * Set the background color of the progress spinner disc.
+     *
+     * @param colorRes Resource id of the color.
+     */
+    public void setProgressBackgroundColorSchemeResource(@ColorRes int colorRes) {
+        setProgressBackgroundColorSchemeColor(ContextCompat.getColor(getContext(), colorRes));
+    }
+
+    /**
+     * Set the background color of the progress spinner disc.
+     *
+     * @param color
+     */
+    public void setProgressBackgroundColorSchemeColor(@ColorInt int color) {
+        mProgressBackgroundColor = color;
+        if (mHeader instanceof GsCircleRefreshHeader) {
+            ((GsCircleRefreshHeader) mHeader).setBackgroundColor(color);
+        }
+    }
+
+    /**
+     * @deprecated Use {@link #setColorSchemeResources(int...)}
+     */
+    @Deprecated
+    public void setColorScheme(@ColorRes int... colors) {
+        setColorSchemeResources(colors);
+    }
+
+    /**
+     * Set the color resources used in the progress animation from color resources.
+     * The first color will also be the color of the bar that grows in response
+     * to a user swipe gesture.
+     *
+     * @param colorResIds
+     */
+    public void setColorSchemeResources(@ColorRes int... colorResIds) {
+        final Context context = getContext();
+        int[] colorRes = new int[colorResIds.length];
+        for (int i = 0; i < colorResIds.length; i++) {
+            colorRes[i] = ContextCompat.getColor(context, colorResIds[i]);
+        }
+        setColorSchemeColors(colorRes);
+    }
+
+    /**
+     * Set the colors used in the progress animation. The first
+     * color will also be the color of the bar that grows in response to a user
+     * swipe gesture.
+     *
+     * @param colors
+     */
+    public void setColorSchemeColors(@ColorInt int... colors) {
+        ensureTarget();
+        mColorSchemeColors = colors;
+        if (mHeader instanceof GsCircleRefreshHeader) {
+            ((GsCircleRefreshHeader) mHeader).setColorSchemeColors(colors);
+        }
+    }
+
+    /**
+     * @return Whether the SwipeRefreshWidget is actively showing refresh
+     *         progress.
+     */
+    public boolean isRefreshing() {
+        return mRefreshState.isRefreshing();
+    }
+
+    private void ensureTarget() {
+        // Don't bother getting the parent height if the parent hasn't been laid
+        // out yet.
+        if (mTarget == null) {
+            for (int i = 0; i < getChildCount(); i++) {
+                View child = getChildAt(i);
+                if (!child.equals(mHeaderView) && !isLoadMoreView(child)) {
+                    mTarget = child;
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean isLoadMoreView(View child) {
+        return mLoadMoreHeader != null && child == mLoadMoreHeader.getView();
+    }
+
+    /**
+     * Set the distance to trigger a sync in dips
+     *
+     * @param distance
+     */
+    public void setDistanceToTriggerSync(int distance) {
+        mTotalDragDistance = distance;
+    }
+
+    /**
+     * Drive the indicator from a prediction of where the finger will be when the next frame
+     * is shown, instead of from the last touch event, to hide a frame of input latency. On
+     * release the indicator goes back to the actual finger position. Off by default.
+     *
+     * @param predictor E.g. a {@link GsLinearTouchPredictor} or
+     *                  {@link GsKalmanTouchPredictor}, or null to follow touch events as is.
+     */
+    public void setTouchPredictor(@Nullable GsTouchPredictor predictor) {
+        mTouchPredictor = predictor;
+        if (predictor != null) {
+            predictor.reset();
+        }
+    }
+
+    /**
+     * Set the release velocity above which a pull that covered at least half of the trigger
+     * distance still refreshes, so a quick flick doesn't have to be repeated as a slow pull.
+     *
+     * @param velocity Finger velocity in pixels per second, or 0 to only refresh on distance.
+     */
+    public void setRefreshFlingVelocity(float velocity) {
+        mRefreshFlingVelocity = velocity;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onLayout");
+        try {
+            layoutChildren();
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void layoutChildren() {
+        GsLog.e(TAG,"onLayout 布局");
+        final int width = getMeasuredWidth();
+        final int height = getMeasuredHeight();
+        if (getChildCount() == 0) {
+            return;
+        }
+        if (mTarget == null) {
+            ensureTarget();
+        }
+        if (mTarget == null) {
+            return;
+        }
+        final View child = mTarget;
+        final int childLeft = getPaddingLeft();
+        final int childTop = getPaddingTop();
+        final int childWidth = width - getPaddingLeft() - getPaddingRight();
+        final int childHeight = height - getPaddingTop() - getPaddingBottom();
+        child.layout(childLeft, childTop, childLeft + childWidth, childTop + childHeight);
+        if (mHeaderView != null) {
+            layoutHeader(width, height);
+        }
+        if (mLoadMoreHeader != null) {
+            final View loadMoreView = mLoadMoreHeader.getView();
+            final int loadMoreSize = loadMoreView.getMeasuredWidth();
+            if (mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL) {
+                final int loadMoreRight = width - mLoadMoreInset;
+                loadMoreView.layout(loadMoreRight - loadMoreSize,
+                        (height / 2 - loadMoreSize / 2), loadMoreRight,
+                        (height / 2 + loadMoreSize / 2));
+            } else {
+                final int loadMoreBottom = height - mLoadMoreInset;
+                loadMoreView.layout((width / 2 - loadMoreSize / 2),
+                        loadMoreBottom - loadMoreSize, (width / 2 + loadMoreSize / 2),
+                        loadMoreBottom);
+            }
+        }
+    }
+
+    private void layoutHeader(int width, int height) {
+        int circleWidth = mHeaderView.getMeasuredWidth();
+        int circleHeight = mHeaderView.getMeasuredHeight();
+        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+            mHeaderView.layout(mCurrentTargetOffsetTop, (height / 2 - circleHeight / 2),
+                    mCurrentTargetOffsetTop + circleWidth, (height / 2 + circleHeight / 2));
+        }else {
+            mHeaderView.layout((width / 2 - circleWidth / 2), mCurrentTargetOffsetTop,
+                    (width / 2 + circleWidth / 2), mCurrentTargetOffsetTop + circleHeight);
+        }
+    }
+
+    private void measureHeader() {
+        if (mHeader instanceof GsCircleRefreshHeader) {
+            mHeaderView.measure(MeasureSpec.makeMeasureSpec(mCircleDiameter, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(mCircleDiameter, MeasureSpec.EXACTLY));
+        } else {
+            final ViewGroup.LayoutParams lp = mHeaderView.getLayoutParams();
+            mHeaderView.measure(
+                    getChildMeasureSpec(MeasureSpec.makeMeasureSpec(getMeasuredWidth(),
+                            MeasureSpec.EXACTLY), 0, lp.width),
+                    getChildMeasureSpec(MeasureSpec.makeMeasureSpec(getMeasuredHeight(),
+                            MeasureSpec.EXACTLY), 0, lp.height));
+        }
+    }
+
+    @Override
+    public void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onMeasure");
+        try {
+            measureTarget(widthMeasureSpec, heightMeasureSpec);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void measureTarget(int widthMeasureSpec, int heightMeasureSpec) {
+        GsLog.e(TAG,"onMeasure 测量");
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        if (mTarget == null) {
+            ensureTarget();
+        }
+        if (mTarget == null) {
+            return;
+        }
+        mTarget.measure(MeasureSpec.makeMeasureSpec(
+                getMeasuredWidth() - getPaddingLeft() - getPaddingRight(),
+                MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(
+                getMeasuredHeight() - getPaddingTop() - getPaddingBottom(), MeasureSpec.EXACTLY));
+        if (mHeaderView != null) {
+            measureHeader();
+        }
+        if (mLoadMoreHeader != null) {
+            mLoadMoreHeader.getView().measure(
+                    MeasureSpec.makeMeasureSpec(mCircleDiameter, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(mCircleDiameter, MeasureSpec.EXACTLY));
+        }
+        mHeaderViewIndex = -1;
+        // Get the index of the circleview.
+        for (int index = 0; index < getChildCount(); index++) {
+            if (getChildAt(index) == mHeaderView) {
+                mHeaderViewIndex = index;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Get the diameter of the progress circle that is displayed as part of the
+     * swipe to refresh layout.
+     *
+     * @return Diameter in pixels of the progress circle view.
+     */
+    public int getProgressCircleDiameter() {
+        return mCircleDiameter;
+    }
+
+    /**
+     * @return Whether it is possible for the child view of this layout to
+     *         scroll up. Override this if the child view is a custom view.
+     */
+    public boolean canChildScrollUp() {
+        //Log.e(TAG, "canChildScrollUp()");
+        if (mChildScrollUpCallback != null) {
+            return mChildScrollUpCallback.canChildScrollUp(this, mTarget);
+        }
+        if (mTarget instanceof ListView) {
+            return ListViewCompat.canScrollList((ListView) mTarget, -1);
+        }
+        ViewCompat.canScrollVertically(mTarget, -1);
+        //RecyclerView.canScrollVertically(1)的值表示是否能向上滚动，false表示已经滚动到底部
+        //RecyclerView.canScrollVertically(-1)的值表示是否能向下滚动，false表示已经滚动到顶部
+        return mTarget.canScrollVertically(-1);
+    }
+
+    public boolean canChildScrollLeft() {
+        //Log.e(TAG, "canChildScrollLeft()");
+        if (mChildScrollLeftCallback != null) {
+            return mChildScrollLeftCallback.canChildScrollLeft(this, mTarget);
+        }
+        ViewCompat.canScrollHorizontally(mTarget, -1);
+        return mTarget.canScrollHorizontally(-1);
+    }
+
+    private boolean canChildScroll() {
+        if (mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL) {
+            return mTarget.canScrollHorizontally(1) || mTarget.canScrollHorizontally(-1);
+        }
+        return mTarget.canScrollVertically(1) || mTarget.canScrollVertically(-1);
+    }
+
+    /**
+     * @return How far the child view of this layout can still scroll towards its bottom (or
+     *         end, when scrolling horizontally) edge, in pixels. Lists that are not a
+     *         {@link ScrollingView} estimate the hidden rows from the last visible row height.
+     *         Override this, or set an {@link OnChildDistanceToEndCallback}, to measure in
+     *         items instead.
+     */
+    public int getChildDistanceToEnd() {
+        if (mChildDistanceToEndCallback != null) {
+            return mChildDistanceToEndCallback.getChildDistanceToEnd(this, mTarget);
+        }
+        final boolean horizontal = mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL;
+        if (mTarget instanceof ScrollingView) {
+            final ScrollingView scrollingView = (ScrollingView) mTarget;
+            if (horizontal) {
+                return scrollingView.computeHorizontalScrollRange()
+                        - scrollingView.computeHorizontalScrollOffset()
+                        - scrollingView.computeHorizontalScrollExtent();
+            }
+            return scrollingView.computeVerticalScrollRange()
+                    - scrollingView.computeVerticalScrollOffset()
+                    - scrollingView.computeVerticalScrollExtent();
+        }
+        if (!horizontal && mTarget instanceof AbsListView) {
+            final AbsListView list = (AbsListView) mTarget;
+            final int childCount = list.getChildCount();
+            if (list.getCount() == 0 || childCount == 0) {
+                return 0;
+            }
+            final View last = list.getChildAt(childCount - 1);
+            final int hiddenRows = list.getCount() - 1 - list.getLastVisiblePosition();
+            return hiddenRows * last.getHeight()
+                    + Math.max(0, last.getBottom() - (list.getHeight() - list.getPaddingBottom()));
+        }
+        final boolean canScroll = horizontal ? mTarget.canScrollHorizontally(1)
+                : mTarget.canScrollVertically(1);
+        return canScroll ? Integer.MAX_VALUE : 0;
+    }
+
+    /**
+     * Set a callback to override {@link GsSwipeRefreshLayout#getChildDistanceToEnd()}, e.g. to
+     * count remaining adapter items instead of pixels.
+     */
+    public void setOnChildDistanceToEndCallback(@Nullable OnChildDistanceToEndCallback callback) {
+        mChildDistanceToEndCallback = callback;
+    }
+
+    /**
+     * Set a callback to override {@link GsSwipeRefreshLayout#canChildScrollUp()} method. Non-null
+     * callback will return the value provided by the callback and ignore all internal logic.
+     * @param callback Callback that should be called when canChildScrollUp() is called.
+     */
+    public void setOnChildScrollUpCallback(@Nullable OnChildScrollUpCallback callback) {
+        mChildScrollUpCallback = callback;
+    }
+
+    public void setOnChildScrollLeftCallback(@Nullable OnChildScrollLeftCallback callback) {
+        mChildScrollLeftCallback = callback;
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onInterceptTouchEvent");
+        try {
+            return interceptTouchEvent(ev);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private boolean interceptTouchEvent(MotionEvent ev) {
+        GsLog.e(TAG, "onInterceptTouchEvent()");
+        ensureTarget();
+
+        final int action = ev.getActionMasked();
+        int pointerIndex;
+
+        if (!isEnabled() || !mRefreshState.canPull() || canChildScrollUp()
+                || canChildScrollLeft() || mNestedScrollInProgress) {
+            // Fail fast if we're not in a state where a swipe is possible
+            GsLog.e(TAG, "onInterceptTouchEvent mNestedScrollInProgress="+mNestedScrollInProgress);
+            return false;
+        }
+
+        trackMovement(ev);
+
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                // A returning indicator keeps going until a drag grabs it where it is
+                if (!isIndicatorReturning()) {
+                    if (mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL) {
+                        setTargetOffsetLeftAndRight(mOriginalOffsetTop - mCurrentTargetOffsetTop);
+                    } else {
+                        setTargetOffsetTopAndBottom(mOriginalOffsetTop - mCurrentTargetOffsetTop);
+                    }
+                }
+                mActivePointerId = ev.getPointerId(0);
+                mIsBeingDragged = false;
+                resetTouchPredictor();
+
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    return false;
+                }
+                mInitialDownY = ev.getY(pointerIndex);
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                if (mActivePointerId == INVALID_POINTER) {
+                    Log.e(LOG_TAG, "Got ACTION_MOVE event but don't have an active pointer id.");
+                    return false;
+                }
+
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    return false;
+                }
+                final float y = ev.getY(pointerIndex);
+                addTouchSamples(ev, pointerIndex);
+                startDragging(y);
+                break;
+
+            case MotionEvent.ACTION_POINTER_UP:
+                onSecondaryPointerUp(ev);
+                break;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                mIsBeingDragged = false;
+                mActivePointerId = INVALID_POINTER;
+                recycleVelocityTracker();
+                break;
+        }
+
+        return mIsBeingDragged;
+    }
+
+    @Override
+    public void requestDisallowInterceptTouchEvent(boolean b) {
+        //Log.e(TAG, "requestDisallowInterceptTouchEvent()");
+        // if this is a List < L or another view that doesn't support nested
+        // scrolling, ignore this request so that the vertical scroll event
+        // isn't stolen
+        if ((android.os.Build.VERSION.SDK_INT < 21 && mTarget instanceof AbsListView)
+                || (mTarget != null && !ViewCompat.isNestedScrollingEnabled(mTarget))) {
+            // Nope.
+        } else {
+            super.requestDisallowInterceptTouchEvent(b);
+        }
+    }
+
+    // NestedScrollingParent
+
+    @Override
+    public boolean onStartNestedScroll(View child, View target, int nestedScrollAxes) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onStartNestedScroll");
+        try {
+            GsLog.e(TAG,"onStartNestedScroll "+nestedScrollAxes);
+            return isEnabled() && mRefreshState.canPull();
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    @Override
+    public void onNestedScrollAccepted(View child, View target, int axes) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onNestedScrollAccepted");
+        try {
+            acceptNestedScroll(child, target, axes);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void acceptNestedScroll(View child, View target, int axes) {
+        GsLog.e(TAG,"onNestedScrollAccepted ");
+        // Reset the counter of how much leftover scroll needs to be consumed.
+        if (mNestedScrollingParentHelper == null) {
+            mNestedScrollingParentHelper = new NestedScrollingParentHelper(this);
+        }
+        mNestedScrollingParentHelper.onNestedScrollAccepted(child, target, axes);
+        // Dispatch up to the nested parent on every axis the child scrolls, so an outer
+        // horizontal (or vertical) parent gets to consume its share in the same pass
+        startNestedScroll(axes);
+        mTotalUnconsumed = 0;
+        mNestedFlingVelocity = 0;
+        mNestedScrollInProgress = true;
+        mScrollOrientation = getSpinnerAxis(axes);
+    }
+
+    /**
+     * The spinner only ever moves along one axis. A child scrolling both ways drives it
+     * vertically, as it did before horizontal support was added.
+     */
+    private static int getSpinnerAxis(int axes) {
+        if ((axes & ViewCompat.SCROLL_AXIS_VERTICAL) == 0
+                && (axes & ViewCompat.SCROLL_AXIS_HORIZONTAL) != 0) {
+            return ViewCompat.SCROLL_AXIS_HORIZONTAL;
+        }
+        return ViewCompat.SCROLL_AXIS_VERTICAL;
+    }
+
+    @Override
+    public void onNestedPreScroll(View target, int dx, int dy, int[] consumed) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onNestedPreScroll");
+        try {
+            nestedPreScroll(dx, dy, consumed);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void nestedPreScroll(int dx, int dy, int[] consumed) {
+        GsLog.e(TAG, "onNestedPreScroll dx="+dx+" dy="+dy+" mTotalUnconsumed="+mTotalUnconsumed);
+        // If we are in the middle of consuming, a scroll, then we want to move the spinner back up
+        // before allowing the list to scroll
+        final int pushBack = mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL ? dx : dy;
+        if (pushBack > 0 && mTotalUnconsumed == 0) {
+            // Push a returning indicator back from where it is
+            mTotalUnconsumed = captureIndicator();
+        }
+        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+            if (dx > 0 && mTotalUnconsumed > 0) {
+                if (dx > mTotalUnconsumed) {
+                    consumed[0] = dx - (int) mTotalUnconsumed;
+                    mTotalUnconsumed = 0;
+                } else {
+                    mTotalUnconsumed -= dx;
+                    consumed[0] = dx;
+                }
+                moveSpinner(mTotalUnconsumed);
+            }
+        }else {
+            if (dy > 0 && mTotalUnconsumed > 0) {
+                if (dy > mTotalUnconsumed) {
+                    consumed[1] = dy - (int) mTotalUnconsumed;
+                    mTotalUnconsumed = 0;
+                } else {
+                    mTotalUnconsumed -= dy;
+                    consumed[1] = dy;
+                }
+                moveSpinner(mTotalUnconsumed);
+            }
+        }
+
+        // If a client layout is using a custom start position for the circle
+        // view, they mean to hide it again before scrolling the child view
+        // If we get back to mTotalUnconsumed == 0 and there is more to go, hide
+        // the circle so it isn't exposed if its blocking content is moved
+        final boolean horizontal = mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL;
+        final int delta = horizontal ? dx : dy;
+        final int deltaConsumed = horizontal ? consumed[0] : consumed[1];
+        if (mUsingCustomStart && delta > 0 && mTotalUnconsumed == 0
+                && Math.abs(delta - deltaConsumed) > 0 && mHeaderView != null) {
+            mHeaderView.setVisibility(View.GONE);
+        }
+
+        // Now let our nested parent consume the leftovers
+        final int[] parentConsumed = mParentScrollConsumed;
+        if (dispatchNestedPreScroll(dx - consumed[0], dy - consumed[1], parentConsumed, null)) {
+            consumed[0] += parentConsumed[0];
+            consumed[1] += parentConsumed[1];
+        }
+    }
+
+    @Override
+    public int getNestedScrollAxes() {
+        return mNestedScrollingParentHelper != null
+                ? mNestedScrollingParentHelper.getNestedScrollAxes() : ViewCompat.SCROLL_AXIS_NONE;
+    }
+
+    @Override
+    public void onStopNestedScroll(View target) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onStopNestedScroll");
+        try {
+            endNestedScroll(target);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void endNestedScroll(View target) {
+        GsLog.e(TAG, "onStopNestedScroll mTotalUnconsumed="+mTotalUnconsumed);
+        if (mNestedScrollingParentHelper != null) {
+            mNestedScrollingParentHelper.onStopNestedScroll(target);
+        }
+        mNestedScrollInProgress = false;
+        // Finish the spinner for nested scrolling if we ever consumed any
+        // unconsumed nested scroll
+        if (mTotalUnconsumed > 0) {
+            finishSpinner(mTotalUnconsumed, mNestedFlingVelocity);
+            mTotalUnconsumed = 0;
+        } else if (mRefreshState.get() == GsRefreshState.DRAGGING) {
+            // Pushed all the way back before letting go
+            finishSpinner(0, 0);
+        }
+        // Dispatch up our nested parent
+        stopNestedScroll();
+    }
+
+    @Override
+    public void onNestedScroll(final View target, final int dxConsumed, final int dyConsumed,
+                               final int dxUnconsumed, final int dyUnconsumed) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onNestedScroll");
+        try {
+            nestedScroll(dxConsumed, dyConsumed, dxUnconsumed, dyUnconsumed);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void nestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                              int dyUnconsumed) {
+        GsLog.e(TAG, "onNestedScroll mTotalUnconsumed="+mTotalUnconsumed +" x未消耗="+dxUnconsumed+
+                " y未消耗="+dyUnconsumed +" x消耗="+dxConsumed+" y消耗="+dyConsumed);
+        // Dispatch up to the nested parent first
+        dispatchNestedScroll(dxConsumed, dyConsumed, dxUnconsumed, dyUnconsumed,
+                mParentOffsetInWindow);
+
+        // This is a bit of a hack. Nested scrolling works from the bottom up, and as we are
+        // sometimes between two nested scrolling views, we need a way to be able to know when any
+        // nested scrolling parent has stopped handling events. We do that by using the
+        // 'offset in window 'functionality to see if we have been moved from the event.
+        // This is a decent indication of whether we should take over the event stream or not.
+        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+            final int dx = dxUnconsumed + mParentOffsetInWindow[0];
+            if (dx < 0 && !canChildScrollLeft()) {
+                if (mTotalUnconsumed == 0) {
+                    mTotalUnconsumed = captureIndicator();
+                }
+                mTotalUnconsumed += Math.abs(dx);
+                moveSpinner(mTotalUnconsumed);
+            }
+        }else {
+            final int dy = dyUnconsumed + mParentOffsetInWindow[1];
+            if (dy < 0 && !canChildScrollUp()) {
+                if (mTotalUnconsumed == 0) {
+                    mTotalUnconsumed = captureIndicator();
+                }
+                mTotalUnconsumed += Math.abs(dy);
+                moveSpinner(mTotalUnconsumed);
+            }
+        }
+        // Overscrolling the end edge, or any consumed scroll reaching the prefetch window
+        if (dxUnconsumed > 0 || dyUnconsumed > 0 || dxConsumed > 0 || dyConsumed > 0) {
+            checkLoadMore();
+        }
+    }
+
+    // NestedScrollingChild
+
+    private NestedScrollingChildHelper getNestedScrollingChildHelper() {
+        if (mNestedScrollingChildHelper == null) {
+            mNestedScrollingChildHelper = new NestedScrollingChildHelper(this);
+            mNestedScrollingChildHelper.setNestedScrollingEnabled(mNestedScrollingEnabled);
+        }
+        return mNestedScrollingChildHelper;
+    }
+
+    @Override
+    public void setNestedScrollingEnabled(boolean enabled) {
+        mNestedScrollingEnabled = enabled;
+        if (mNestedScrollingChildHelper != null) {
+            mNestedScrollingChildHelper.setNestedScrollingEnabled(enabled);
+        }
+    }
+
+    @Override
+    public boolean isNestedScrollingEnabled() {
+        return mNestedScrollingEnabled;
+    }
+
+    @Override
+    public boolean startNestedScroll(int axes) {
+        return getNestedScrollingChildHelper().startNestedScroll(axes);
+    }
+
+    @Override
+    public void stopNestedScroll() {
+        if (mNestedScrollingChildHelper != null) {
+            mNestedScrollingChildHelper.stopNestedScroll();
+        }
+    }
+
+    @Override
+    public boolean hasNestedScrollingParent() {
+        return mNestedScrollingChildHelper != null
+                && mNestedScrollingChildHelper.hasNestedScrollingParent();
+    }
+
+    @Override
+    public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+                                        int dyUnconsumed, int[] offsetInWindow) {
+        return mNestedScrollingChildHelper != null
+                && mNestedScrollingChildHelper.dispatchNestedScroll(dxConsumed, dyConsumed,
+                dxUnconsumed, dyUnconsumed, offsetInWindow);
+    }
+
+    @Override
+    public boolean dispatchNestedPreScroll(int dx, int dy, int[] consumed, int[] offsetInWindow) {
+        return mNestedScrollingChildHelper != null
+                && mNestedScrollingChildHelper.dispatchNestedPreScroll(
+                dx, dy, consumed, offsetInWindow);
+    }
+
+    @Override
+    public boolean onNestedPreFling(View target, float velocityX,
+                                    float velocityY) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onNestedPreFling");
+        try {
+            // Fling velocities point the way the content would scroll, opposite to the pull
+            mNestedFlingVelocity = mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL
+                    ? -velocityX : -velocityY;
+            return dispatchNestedPreFling(velocityX, velocityY);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    @Override
+    public boolean onNestedFling(View target, float velocityX, float velocityY,
+                                 boolean consumed) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onNestedFling");
+        try {
+            return dispatchNestedFling(velocityX, velocityY, consumed);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    @Override
+    public boolean dispatchNestedFling(float velocityX, float velocityY, boolean consumed) {
+        return mNestedScrollingChildHelper != null
+                && mNestedScrollingChildHelper.dispatchNestedFling(velocityX, velocityY, consumed);
+    }
+
+    @Override
+    public boolean dispatchNestedPreFling(float velocityX, float velocityY) {
+        return mNestedScrollingChildHelper != null
+                && mNestedScrollingChildHelper.dispatchNestedPreFling(velocityX, velocityY);
+    }
+
+    private void moveSpinner(float overscrollTop) {
+        final boolean traced = GsTrace.beginSection("GsSRL#moveSpinner");
+        try {
+            if (mDebugHud == null) {
+                moveSpinnerTo(overscrollTop);
+            } else {
+                final long start = System.nanoTime();
+                moveSpinnerTo(overscrollTop);
+                mDebugHud.onMoveSpinner(overscrollTop / mTotalDragDistance,
+                        System.nanoTime() - start);
+            }
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void moveSpinnerTo(float overscrollTop) {
+        if (!mRefreshState.canPull()) {
+            // Nested scrolls keep coming after setRefreshing(true)
+            return;
+        }
+        ensureHeader();
+        mRefreshState.dispatch(overscrollTop > mTotalDragDistance
+                ? GsRefreshState.EVENT_PULL_PAST_TRIGGER : GsRefreshState.EVENT_PULL);
+        // The pull takes over from whatever was animating the indicator
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_POSITION);
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_SCALE);
+        float originalDragPercent = overscrollTop / mTotalDragDistance;
+
+        //由于originalDragPercent可能大于1，所以dragPercent才是拖动的百分比
+        float dragPercent = Math.min(1f, Math.abs(originalDragPercent));
+        //弹簧效果的位移
+        float extraOS = Math.abs(overscrollTop) - mTotalDragDistance;
+        //超过100%后可以被允许拖动的最大距离的二分之一，也是一个常数
+        float slingshotDist = mUsingCustomStart ? mSpinnerOffsetEnd - mOriginalOffsetTop
+                : mSpinnerOffsetEnd;
+        //当弹簧效果位移小余0时，tensionSlingshotPercent为0，否则取弹簧位移于总高度的比值，最大为2
+        float tensionSlingshotPercent = Math.max(0, Math.min(extraOS, slingshotDist * 2)
+                / slingshotDist);
+        //对称轴为tensionSlingshotPercent = 2的二次函数，0到2递增
+        //tensionSlingshotPercent的范围是0~2 tensionPercent的范围是0~0.5
+        float tensionPercent = (float) ((tensionSlingshotPercent / 4) - Math.pow(
+                (tensionSlingshotPercent / 4), 2)) * 2f;
+        //弹力距离
+        float extraMove = (slingshotDist) * tensionPercent * 2;
+        //想要移动到的目标位置
+        int targetY = mOriginalOffsetTop + (int) ((slingshotDist * dragPercent) + extraMove);
+        GsLog.e(TAG, "moveSpinner overscrollTop="+overscrollTop+" mTotalDragDistance="+mTotalDragDistance+
+                " originalDragPercent="+originalDragPercent+" dragPercent="+dragPercent+
+                " \nextraOS="+extraOS+" slingshotDist="+slingshotDist+" tensionSlingshotPercent="+
+                tensionSlingshotPercent+" tensionPercent="+tensionPercent+" extraMove="+extraMove+
+                " targetY="+targetY +" mCurrentTargetOffsetTop="+mCurrentTargetOffsetTop+" 偏移量："+
+                (targetY - mCurrentTargetOffsetTop)+" (slingshotDist * dragPercent)="+(slingshotDist * dragPercent));
+        if (mHeaderView.getVisibility() != View.VISIBLE) {
+            mHeaderView.setVisibility(View.VISIBLE);
+        }
+        if (!mScale) {
+            mHeaderView.setScaleX(1f);
+            mHeaderView.setScaleY(1f);
+        }
+
+        if (mScale) {
+            setAnimationProgress(Math.min(1f, overscrollTop / mTotalDragDistance));
+        }
+        mHeader.onPull(originalDragPercent, tensionPercent);
+        if(mScrollOrientation == ViewCompat.SCROLL_AXIS_HORIZONTAL){
+            setTargetOffsetLeftAndRight(targetY - mCurrentTargetOffsetTop);
+        }else {
+            setTargetOffsetTopAndBottom(targetY - mCurrentTargetOffsetTop);
+        }
+    }
+
+    /**
+     * @param overscrollTop How far the user pulled.
+     * @param velocity Finger velocity along the pull direction on release, in pixels per
+     *                 second.
+     */
+    private void finishSpinner(float overscrollTop, float velocity) {
+        final boolean traced = GsTrace.beginSection("GsSRL#finishSpinner");
+        try {
+            releaseSpinner(overscrollTop, velocity);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private void releaseSpinner(float overscrollTop, float velocity) {
+        GsLog.e(TAG, "finishSpinner "+overscrollTop+" mTotalDragDistance="+mTotalDragDistance
+                +" velocity="+velocity);
+        if (!mRefreshState.canPull()) {
+            // setRefreshing(true) took over in the middle of the pull
+            return;
+        }
+        ensureHeader();
+        if (shouldTriggerRefresh(overscrollTop, velocity)) {
+            mReleaseVelocity = Math.max(0, velocity) * DRAG_RATE;
+            mHeader.onRelease(true);
+            setRefreshing(true, true /* notify */);
+        } else {
+            // cancel refresh
+            mRefreshState.dispatch(GsRefreshState.EVENT_RELEASE);
+            mHeader.onRelease(false);
+            animateOffsetToStartPosition(mCurrentTargetOffsetTop, mReturnToStartListener);
+        }
+    }
+
+    private boolean shouldTriggerRefresh(float overscrollTop, float velocity) {
+        if (overscrollTop > mTotalDragDistance) {
+            return true;
+        }
+        // A fast flick that falls a little short
+        return mRefreshFlingVelocity > 0 && velocity >= mRefreshFlingVelocity
+                && overscrollTop >= mTotalDragDistance * FLING_MIN_DRAG_PERCENT;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        final boolean traced = GsTrace.beginSection("GsSRL#onTouchEvent");
+        try {
+            return handleTouchEvent(ev);
+        } finally {
+            GsTrace.endSection(traced);
+        }
+    }
+
+    private boolean handleTouchEvent(MotionEvent ev) {
+        GsLog.e(TAG, "onTouchEvent");
+        final int action = ev.getActionMasked();
+        int pointerIndex = -1;
+
+        if (!isEnabled() || !mRefreshState.canPull() || canChildScrollUp()
+                || canChildScrollLeft() || mNestedScrollInProgress) {
+            GsLog.e(TAG, "onTouchEvent mNestedScrollInProgress="+mNestedScrollInProgress);
+            // Fail fast if we're not in a state where a swipe is possible
+            return false;
+        }
+
+        trackMovement(ev);
+
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                mActivePointerId = ev.getPointerId(0);
+                mIsBeingDragged = false;
+                resetTouchPredictor();
+                break;
+
+            case MotionEvent.ACTION_MOVE: {
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    Log.e(LOG_TAG, "Got ACTION_MOVE event but have an invalid active pointer id.");
+                    return false;
+                }
+
+                final float y = ev.getY(pointerIndex);
+                addTouchSamples(ev, pointerIndex);
+                startDragging(y);
+
+                if (mIsBeingDragged) {
+                    final float overscrollTop =
+                            (y - mInitialMotionY) * DRAG_RATE + mCapturedOverscroll;
+                    if (overscrollTop > 0) {
+                        moveSpinner(getPredictedOverscroll(ev, overscrollTop));
+                    } else {
+                        return false;
+                    }
+                }
+                break;
+            }
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                pointerIndex = ev.getActionIndex();
+                if (pointerIndex < 0) {
+                    Log.e(LOG_TAG,
+                            "Got ACTION_POINTER_DOWN event but have an invalid action index.");
+                    return false;
+                }
+                switchActivePointer(ev, pointerIndex);
+                resetTouchPredictor();
+                break;
+            }
+
+            case MotionEvent.ACTION_POINTER_UP:
+                onSecondaryPointerUp(ev);
+                resetTouchPredictor();
+                break;
+
+            case MotionEvent.ACTION_UP: {
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    Log.e(LOG_TAG, "Got ACTION_UP event but don't have an active pointer id.");
+                    return false;
+                }
+
+                if (mIsBeingDragged) {
+                    final float y = ev.getY(pointerIndex);
+                    final float overscrollTop =
+                            (y - mInitialMotionY) * DRAG_RATE + mCapturedOverscroll;
+                    mIsBeingDragged = false;
+                    if (mTouchPredictor != null && overscrollTop > 0) {
+                        // Roll back to where the finger actually was
+                        moveSpinner(overscrollTop);
+                    }
+                    mVelocityTracker.computeCurrentVelocity(1000, mMaximumVelocity);
+                    finishSpinner(overscrollTop, mVelocityTracker.getYVelocity(mActivePointerId));
+                }
+                mActivePointerId = INVALID_POINTER;
+                recycleVelocityTracker();
+                return false;
+            }
+            case MotionEvent.ACTION_CANCEL:
+                if (mIsBeingDragged) {
+                    // Put the indicator back instead of leaving it where the gesture was cut off
+                    mIsBeingDragged = false;
+                    finishSpinner(0, 0);
+                }
+                mActivePointerId = INVALID_POINTER;
+                recycleVelocityTracker();
+                return false;
+        }
+
+        return true;
+    }
+
+    private void resetTouchPredictor() {
+        if (mTouchPredictor != null) {
+            mTouchPredictor.reset();
+        }
+    }
+
+    private void addTouchSamples(MotionEvent ev, int pointerIndex) {
+        if (mTouchPredictor == null) {
+            return;
+        }
+        final int historySize = ev.getHistorySize();
+        for (int h = 0; h < historySize; h++) {
+            mTouchPredictor.addSample(ev.getHistoricalEventTime(h),
+                    ev.getHistoricalY(pointerIndex, h));
+        }
+        mTouchPredictor.addSample(ev.getEventTime(), ev.getY(pointerIndex));
+    }
+
+    /**
+     * @return The overscroll at the time the frame being prepared is expected on screen,
+     *         or the given overscroll when prediction is off.
+     */
+    private float getPredictedOverscroll(MotionEvent ev, float overscrollTop) {
+        if (mTouchPredictor == null) {
+            return overscrollTop;
+        }
+        // Also clamped here, for predictors that don't
+        final long presentationTime = Math.min(
+                SystemClock.uptimeMillis() + (long) mFrameIntervalMs,
+                ev.getEventTime() + GsTouchPredictor.MAX_PREDICTION_MS);
+        final float predictedY = mTouchPredictor.predict(presentationTime);
+        if (Float.isNaN(predictedY)) {
+            return overscrollTop;
+        }
+        return Math.max(0, (predictedY - mInitialMotionY) * DRAG_RATE + mCapturedOverscroll);
+    }
+
+    private void trackMovement(MotionEvent ev) {
+        if (ev.getActionMasked() == MotionEvent.ACTION_DOWN && mVelocityTracker != null) {
+            // Seen by both onInterceptTouchEvent and onTouchEvent when no child takes it
+            mVelocityTracker.clear();
+        }
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(ev);
+    }
+
+    private void recycleVelocityTracker() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    private void startDragging(float y) {
+        //Log.e(TAG, "startDragging()"+ y);
+        final float yDiff = y - mInitialDownY;
+        if (yDiff > mTouchSlop && !mIsBeingDragged) {
+            mInitialMotionY = mInitialDownY + mTouchSlop;
+            mIsBeingDragged = true;
+            mCapturedOverscroll = captureIndicator();
+            ensureHeader();
+            // Power save mode may have changed since the last pull
+            applyQuality();
+        }
+    }
+
+    /**
+     * @return Whether the indicator is on its way back to the start after a cancelled pull.
+     */
+    private boolean isIndicatorReturning() {
+        return mRefreshState.get() == GsRefreshState.DISMISSING
+                && mIndicatorAnimator.isRunning(GsIndicatorAnimator.CHANNEL_POSITION);
+    }
+
+    /**
+     * Stop a returning indicator where it is, so a new gesture continues from its current
+     * offset and progress rather than snapping it back to the start.
+     *
+     * @return The overscroll that keeps the indicator where it was stopped, or 0 if it was
+     *         not returning.
+     */
+    private float captureIndicator() {
+        if (!isIndicatorReturning()) {
+            return 0;
+        }
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_POSITION);
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_SCALE);
+        return getOverscrollForOffset(mCurrentTargetOffsetTop);
+    }
+
+    /**
+     * The inverse of {@link #moveSpinner(float)}: how far the user has to pull to put the
+     * indicator at the given offset.
+     */
+    private float getOverscrollForOffset(int offset) {
+        final float slingshotDist = mUsingCustomStart ? mSpinnerOffsetEnd - mOriginalOffsetTop
+                : mSpinnerOffsetEnd;
+        final float distance = offset - mOriginalOffsetTop;
+        if (distance <= 0 || slingshotDist <= 0) {
+            return 0;
+        }
+        if (distance <= slingshotDist) {
+            return distance / slingshotDist * mTotalDragDistance;
+        }
+        // Past the trigger point moveSpinner adds 2 * slingshotDist * tensionPercent, where
+        // tensionPercent = 2 * (q - q * q) and q is a quarter of tensionSlingshotPercent
+        final float tensionPercent = Math.min(.5f,
+                (distance - slingshotDist) / (2 * slingshotDist));
+        final float quarter = (float) (1 - Math.sqrt(1 - 2 * tensionPercent)) / 2;
+        return mTotalDragDistance + 4 * quarter * slingshotDist;
+    }
+
+    private void animateOffsetToCorrectPosition(int from,
+                                                GsIndicatorAnimator.ChannelListener listener) {
+        //Log.e(TAG, "animateOffsetToCorrectPosition()"+ from);
+        mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_SCALE);
+        mIndicatorAnimator.start(GsIndicatorAnimator.CHANNEL_POSITION, from,
+                getRefreshingOffset(), getSettleDuration(from), DECELERATE_INTERPOLATOR,
+                listener);
+    }
+
+    /**
+     * The decelerate interpolator starts at twice its factor times the average speed, so
+     * after a fast release the settle is shortened until it starts at the speed the
+     * indicator was let go with.
+     */
+    private int getSettleDuration(int from) {
+        final float velocity = mReleaseVelocity;
+        mReleaseVelocity = 0;
+        final int distance = getRefreshingOffset() - from;
+        if (velocity <= 0 || distance <= 0) {
+            return ANIMATE_TO_TRIGGER_DURATION;
+        }
+        final int duration = (int) (2 * DECELERATE_INTERPOLATION_FACTOR * 1000
+                * distance / velocity);
+        return Math.max(MIN_SETTLE_DURATION, Math.min(ANIMATE_TO_TRIGGER_DURATION, duration));
+    }
+
+    /**
+     * @return Where the indicator rests while refreshing.
+     */
+    private int getRefreshingOffset() {
+        if (!mUsingCustomStart) {
+            return mSpinnerOffsetEnd - Math.abs(mOriginalOffsetTop);
+        }
+        return mSpinnerOffsetEnd;
+    }
+
+    private void animateOffsetToStartPosition(int from,
+                                              GsIndicatorAnimator.ChannelListener listener) {
+        //Log.e(TAG, "animateOffsetToStartPosition()"+ from);
+        if (mScale) {
+            // Scale the item back down
+            startScaleDownReturnToStartAnimation(from);
+        } else {
+            mIndicatorAnimator.cancel(GsIndicatorAnimator.CHANNEL_SCALE);
+            mIndicatorAnimator.start(GsIndicatorAnimator.CHANNEL_POSITION, from,
+                    mOriginalOffsetTop, ANIMATE_TO_START_DURATION, DECELERATE_INTERPOLATOR,
+                    listener);
+        }
+    }
+
+    private void startScaleDownReturnToStartAnimation(int from) {
+        //Log.e(TAG, "startScaleDownReturnToStartAnimation()"+ from);
+        // Both channels end in the same frame, the scale one hides the indicator
+        mIndicatorAnimator.start(GsIndicatorAnimator.CHANNEL_POSITION, from,
+                mOriginalOffsetTop, SCALE_DOWN_DURATION, null, mIndicatorChannelListener);
+        mIndicatorAnimator.start(GsIndicatorAnimator.CHANNEL_SCALE, mHeaderView.getScaleX(),
+                0f, SCALE_DOWN_DURATION, null, mRefreshListener);
+    }
+
+    void setTargetOffsetTopAndBottom(int offset) {
+        GsLog.e(TAG, "setTargetOffsetTopAndBottom offset="+offset+" top="+mCurrentTargetOffsetTop);
+        if (mHeaderView == null) {
+            // Not created yet, it will be laid out at this offset
+            mCurrentTargetOffsetTop += offset;
+            return;
+        }
+        mHeaderView.bringToFront();
+        ViewCompat.offsetTopAndBottom(mHeaderView, offset);
+        mCurrentTargetOffsetTop = mHeaderView.getTop();
+        traceOffset();
+    }
+
+    void setTargetOffsetLeftAndRight(int offset) {
+        GsLog.e(TAG, "setTargetOffsetLeftAndRight offset="+offset+" left="+mCurrentTargetOffsetTop);
+        if (mHeaderView == null) {
+            mCurrentTargetOffsetTop += offset;
+            return;
+        }
+        mHeaderView.bringToFront();
+        ViewCompat.offsetLeftAndRight(mHeaderView, offset);
+        mCurrentTargetOffsetTop = mHeaderView.getLeft();
+        traceOffset();
+    }
+
+    private void traceOffset() {
+        if (!GsTrace.isEnabled()) {
+            return;
+        }
+        if (mOffsetCounterName == null) {
+            mOffsetCounterName = "GsSRL@" + Integer.toHexString(mTraceCookie) + " offset";
+        }
+        GsTrace.setCounter(mOffsetCounterName, mCurrentTargetOffsetTop - mOriginalOffsetTop);
+    }
+
+    private void onSecondaryPointerUp(MotionEvent ev) {
+        final int pointerIndex = ev.getActionIndex();
+        final int pointerId = ev.getPointerId(pointerIndex);
+        //Log.e(TAG,"onSecondaryPointerUp() pointerIndex="+pointerIndex+" pointerId="+pointerId +" mActivePointerId="+mActivePointerId);
+        if (pointerId == mActivePointerId) {
+            // This was our active pointer going up. Choose a new
+            // active pointer and adjust accordingly: the lowest index still down, with
+            // however many fingers there are.
+            for (int i = 0; i < ev.getPointerCount(); i++) {
+                if (i != pointerIndex) {
+                    switchActivePointer(ev, i);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hand the gesture over to another pointer. The start of the gesture is moved by the
+     * distance between the two pointers, so the indicator stays where it is instead of
+     * jumping to the new finger.
+     */
+    private void switchActivePointer(MotionEvent ev, int newPointerIndex) {
+        final int oldPointerIndex = ev.findPointerIndex(mActivePointerId);
+        if (oldPointerIndex >= 0) {
+            final float delta = ev.getY(newPointerIndex) - ev.getY(oldPointerIndex);
+            mInitialDownY += delta;
+            mInitialMotionY += delta;
+        }
+        mActivePointerId = ev.getPointerId(newPointerIndex);
+    }
+
+    static class SavedState extends BaseSavedState {
+        boolean refreshing;
+        int originalOffsetTop;
+        int spinnerOffsetEnd;
+        boolean usingCustomStart;
+        String refreshToken;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        SavedState(Parcel in) {
+            super(in);
+            refreshing = in.readInt() != 0;
+            originalOffsetTop = in.readInt();
+            spinnerOffsetEnd = in.readInt();
+            usingCustomStart = in.readInt() != 0;
+            refreshToken = in.readString();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(refreshing ? 1 : 0);
+            out.writeInt(originalOffsetTop);
+            out.writeInt(spinnerOffsetEnd);
+            out.writeInt(usingCustomStart ? 1 : 0);
+            out.writeString(refreshToken);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR =
+                new Parcelable.Creator<SavedState>() {
+                    @Override
+                    public SavedState createFromParcel(Parcel in) {
+                        return new SavedState(in);
+                    }
+
+                    @Override
+                    public SavedState[] newArray(int size) {
+                        return new SavedState[size];
+                    }
+                };
+    }
+
+    /**
+     * Classes that wish to be notified when the swipe gesture correctly
+     * triggers a refresh should implement this interface.
+     */
+    public interface OnRefreshListener {
+        /**
+         * Called when a swipe gesture triggers a refresh.
+         */
+        void onRefresh();
+    }
+
+    /**
+     * Receives the callbacks found slow by the watchdog set with
+     * {@link GsSwipeRefreshLayout#setSlowCallbackWatchdog(long, OnSlowCallbackListener, boolean)}.
+     */
+    public interface OnSlowCallbackListener {
+        /**
+         * Called on the main thread right after the slow call returned.
+         *
+         * @param callback The listener or header that was called.
+         * @param method The name of the method that was called, e.g. "onRefresh".
+         * @param durationMs How long the call took.
+         * @param stack The main thread stack once the budget ran out, or null if stack
+         *              snapshots are off or the snapshot came too late.
+         */
+        void onSlowCallback(@NonNull Object callback, @NonNull String method, long durationMs,
+                            @Nullable StackTraceElement[] stack);
+    }
+
+    /**
+     * Takes over refreshes from the {@link OnRefreshListener}, see
+     * {@link GsSwipeRefreshLayout#setRefreshHandler(RefreshHandler)}.
+     */
+    public interface RefreshHandler {
+        /**
+         * Called when a swipe gesture triggers a refresh. Call
+         * {@link GsSwipeRefreshLayout#setRefreshing(boolean)} with false when done, right
+         * away if there is nothing to load.
+         */
+        void onRefresh(@NonNull GsSwipeRefreshLayout layout);
+    }
+
+    /**
+     * Classes that wish to be notified when the target gets close to its bottom (or end)
+     * edge should implement this interface.
+     */
+    public interface OnLoadMoreListener {
+        /**
+         * Called once the target is within the prefetch distance of its end. Call
+         * {@link GsSwipeRefreshLayout#setLoadingMore(boolean)} with false when done.
+         */
+        void onLoadMore();
+    }
+
+    /**
+     * Classes that wish to override {@link GsSwipeRefreshLayout#getChildDistanceToEnd()} method
+     * behavior should implement this interface.
+     */
+    public interface OnChildDistanceToEndCallback {
+        /**
+         * @param parent GsSwipeRefreshLayout that this callback is overriding.
+         * @param child The child view of GsSwipeRefreshLayout.
+         *
+         * @return How far the child can still scroll towards its end, in the same unit as
+         *         the prefetch distance.
+         */
+        int getChildDistanceToEnd(@NonNull GsSwipeRefreshLayout parent, @Nullable View child);
+    }
+
+    /**
+     * Classes that wish to override {@link GsSwipeRefreshLayout#canChildScrollUp()} method
+     * behavior should implement this interface.
+     */
+    public interface OnChildScrollUpCallback {
+        /**
+         * Callback that will be called when {@link GsSwipeRefreshLayout#canChildScrollUp()} method
+         * is called to allow the implementer to override its behavior.
+         *
+         * @param parent GsSwipeRefreshLayout that this callback is overriding.
+         * @param child The child view of GsSwipeRefreshLayout.
+         *
+         * @return Whether it is possible for the child view of parent layout to scroll up.
+         */
+        boolean canChildScrollUp(@NonNull GsSwipeRefreshLayout parent, @Nullable View child);
+    }
+
+    public interface OnChildScrollLeftCallback {
+        boolean canChildScrollLeft(@NonNull GsSwipeRefreshLayout parent, @Nullable View child);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+/**
+ * Extrapolates the finger position along the pull axis to a time slightly in the future, so
+ * {@link GsSwipeRefreshLayout} can draw the indicator where the finger will be when the frame
+ * is shown rather than where it was at the last input event. Times are in
+ * {@link android.os.SystemClock#uptimeMillis()} base, like {@link android.view.MotionEvent}.
+ *
+ * @see GsSwipeRefreshLayout#setTouchPredictor(GsTouchPredictor)
+ */
+public interface GsTouchPredictor {
+
+    /**
+     * Never predict further ahead of the last sample than this, in milliseconds. Past that
+     * a prediction is more likely to overshoot than to help.
+     */
+    long MAX_PREDICTION_MS = 32;
+
+    /**
+     * Forget all samples. Called when a gesture starts or the active pointer changes.
+     */
+    void reset();
+
+    /**
+     * Record where the finger was at a given time. Samples arrive in time order, including
+     * the batched historical samples of each move event.
+     */
+    void addSample(long timeMillis, float position);
+
+    /**
+     * @return The expected finger position at the given time, but no later than
+     *         {@link #MAX_PREDICTION_MS} after the last sample. The last sample if there is
+     *         not enough history to predict from, and NaN if there are no samples at all.
+     */
+    float predict(long timeMillis);
+}
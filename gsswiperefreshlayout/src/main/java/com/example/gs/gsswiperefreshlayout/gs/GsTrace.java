@@ -0,0 +1,114 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.os.Trace;
+import android.support.v4.os.TraceCompat;
+import android.util.Log;
+
+import java.lang.reflect.Method;
+
+/**
+ * Opt-in systrace/Perfetto instrumentation of {@link GsSwipeRefreshLayout}. Off by default,
+ * and while off every call is a single static field check.
+ * <p>
+ * Sections go through {@link TraceCompat}. Async slices and counters are only public from
+ * API 29, below that they are looked up by reflection the first time tracing is turned on,
+ * the same way the support library reaches hidden trace calls. If the lookup fails they
+ * are silently left out and sections still work.
+ * </p>
+ */
+final class GsTrace {
+    private static final String TAG = "GsTrace";
+
+    private static boolean sEnabled;
+
+    private static boolean sLookedUp;
+    private static long sTraceTagApp;
+    private static Method sAsyncTraceBegin;
+    private static Method sAsyncTraceEnd;
+    private static Method sTraceCounter;
+
+    private GsTrace() {
+    }
+
+    static void setEnabled(boolean enabled) {
+        if (enabled) {
+            lookUp();
+        }
+        sEnabled = enabled;
+    }
+
+    static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * @return Whether a section was begun, to be handed to {@link #endSection(boolean)} so a
+     * section begun before tracing was turned off still gets ended.
+     */
+    static boolean beginSection(String name) {
+        if (!sEnabled) {
+            return false;
+        }
+        TraceCompat.beginSection(name);
+        return true;
+    }
+
+    static void endSection(boolean begun) {
+        if (begun) {
+            TraceCompat.endSection();
+        }
+    }
+
+    static void beginAsyncSection(String name, int cookie) {
+        if (sEnabled && sAsyncTraceBegin != null) {
+            invoke(sAsyncTraceBegin, name, cookie);
+        }
+    }
+
+    static void endAsyncSection(String name, int cookie) {
+        if (sEnabled && sAsyncTraceEnd != null) {
+            invoke(sAsyncTraceEnd, name, cookie);
+        }
+    }
+
+    static void setCounter(String name, int value) {
+        if (sEnabled && sTraceCounter != null) {
+            invoke(sTraceCounter, name, value);
+        }
+    }
+
+    private static void lookUp() {
+        if (sLookedUp) {
+            return;
+        }
+        sLookedUp = true;
+        try {
+            sTraceTagApp = Trace.class.getField("TRACE_TAG_APP").getLong(null);
+            sAsyncTraceBegin = Trace.class.getMethod("asyncTraceBegin",
+                    long.class, String.class, int.class);
+            sAsyncTraceEnd = Trace.class.getMethod("asyncTraceEnd",
+                    long.class, String.class, int.class);
+            sTraceCounter = Trace.class.getMethod("traceCounter",
+                    long.class, String.class, int.class);
+        } catch (Exception e) {
+            Log.w(TAG, "Async trace slices and counters are not available", e);
+            sAsyncTraceBegin = null;
+            sAsyncTraceEnd = null;
+            sTraceCounter = null;
+        }
+    }
+
+    private static void invoke(Method method, String name, int value) {
+        try {
+            method.invoke(null, sTraceTagApp, name, value);
+        } catch (Exception e) {
+            Log.w(TAG, "Could not call " + method.getName() + ", giving up on it", e);
+            if (method == sAsyncTraceBegin || method == sAsyncTraceEnd) {
+                sAsyncTraceBegin = null;
+                sAsyncTraceEnd = null;
+            } else {
+                sTraceCounter = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reporting of slow callbacks by the watchdog, without stack snapshots so no Android
+ * threads are needed.
+ */
+public class GsCallbackWatchdogTest {
+    private static final long BUDGET_MS = 20;
+
+    private final ArrayList<String> mReports = new ArrayList<>();
+    private GsCallbackWatchdog mWatchdog;
+
+    @Before
+    public void setUp() {
+        mWatchdog = new GsCallbackWatchdog(BUDGET_MS,
+                new GsSwipeRefreshLayout.OnSlowCallbackListener() {
+                    @Override
+                    public void onSlowCallback(Object callback, String method, long durationMs,
+                                               StackTraceElement[] stack) {
+                        assertTrue(durationMs >= BUDGET_MS);
+                        assertNull(stack);
+                        mReports.add(callback + "." + method);
+                    }
+                }, false);
+    }
+
+    @Test
+    public void fastCallIsNotReported() {
+        mWatchdog.end(mWatchdog.begin(), "listener", "onRefresh");
+        assertTrue(mReports.isEmpty());
+    }
+
+    @Test
+    public void slowCallIsReported() throws InterruptedException {
+        final long start = mWatchdog.begin();
+        Thread.sleep(BUDGET_MS + 10);
+        mWatchdog.end(start, "listener", "onRefresh");
+        assertEquals(1, mReports.size());
+        assertEquals("listener.onRefresh", mReports.get(0));
+    }
+
+    @Test
+    public void slowCallInsideAnotherIsReportedWithIt() throws InterruptedException {
+        final long outer = mWatchdog.begin();
+        final long inner = mWatchdog.begin();
+        Thread.sleep(BUDGET_MS + 10);
+        mWatchdog.end(inner, "header", "onComplete");
+        mWatchdog.end(outer, "listener", "onRefresh");
+        assertEquals(2, mReports.size());
+        assertEquals("header.onComplete", mReports.get(0));
+        assertEquals("listener.onRefresh", mReports.get(1));
+    }
+}
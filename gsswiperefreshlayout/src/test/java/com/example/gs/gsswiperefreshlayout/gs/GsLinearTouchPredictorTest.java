@@ -0,0 +1,64 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Predictions of the line fit for a finger moving at 1 px/ms, sampled every 8 ms.
+ */
+public class GsLinearTouchPredictorTest {
+    private static final long START = 1000;
+    private static final long INTERVAL = 8;
+
+    private GsLinearTouchPredictor mPredictor;
+
+    @Before
+    public void setUp() {
+        mPredictor = new GsLinearTouchPredictor();
+    }
+
+    @Test
+    public void noSamplesPredictsNothing() {
+        assertTrue(Float.isNaN(mPredictor.predict(START)));
+    }
+
+    @Test
+    public void oneSamplePredictsThatSample() {
+        mPredictor.addSample(START, 100);
+        assertEquals(100, mPredictor.predict(START + 16), 0);
+    }
+
+    @Test
+    public void constantVelocityIsExtrapolated() {
+        final long last = addSamples(5);
+        assertEquals(100 + (last - START) + 16, mPredictor.predict(last + 16), .01f);
+    }
+
+    @Test
+    public void predictionHorizonIsClamped() {
+        final long last = addSamples(5);
+        assertEquals(100 + (last - START) + GsTouchPredictor.MAX_PREDICTION_MS,
+                mPredictor.predict(last + 1000), .01f);
+    }
+
+    @Test
+    public void resetForgetsSamples() {
+        addSamples(5);
+        mPredictor.reset();
+        assertTrue(Float.isNaN(mPredictor.predict(START)));
+    }
+
+    /**
+     * @return The time of the last sample.
+     */
+    private long addSamples(int count) {
+        long time = START;
+        for (int i = 0; i < count; i++) {
+            time = START + i * INTERVAL;
+            mPredictor.addSample(time, 100 + (time - START));
+        }
+        return time;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * A {@link GsFrameTicker.FrameSource} for tests and benchmarks. Frames only happen when the
+ * test asks for them, 60 per simulated second, so animations run as fast as the code allows
+ * and every intermediate frame can be observed.
+ */
+class GsManualFrameSource implements GsFrameTicker.FrameSource {
+    static final long FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    private final ArrayList<Choreographer.FrameCallback> mPending = new ArrayList<>();
+    private final ArrayList<Choreographer.FrameCallback> mRunning = new ArrayList<>();
+    private long mTimeNanos;
+
+    GsManualFrameSource(long startTimeMillis) {
+        mTimeNanos = startTimeMillis * 1000000L;
+    }
+
+    @Override
+    public void postFrameCallback(Choreographer.FrameCallback callback) {
+        mPending.add(callback);
+    }
+
+    @Override
+    public void removeFrameCallback(Choreographer.FrameCallback callback) {
+        mPending.remove(callback);
+    }
+
+    /**
+     * Move the clock on by one frame and run the callbacks posted for it.
+     */
+    void frame() {
+        mTimeNanos += FRAME_INTERVAL_NANOS;
+        mRunning.addAll(mPending);
+        mPending.clear();
+        for (int i = 0; i < mRunning.size(); i++) {
+            mRunning.get(i).doFrame(mTimeNanos);
+        }
+        mRunning.clear();
+    }
+
+    /**
+     * Run every frame that falls within the next {@code millis} milliseconds.
+     */
+    void advance(long millis) {
+        final long end = mTimeNanos + millis * 1000000L;
+        while (mTimeNanos + FRAME_INTERVAL_NANOS <= end) {
+            frame();
+        }
+    }
+
+    long getTimeMillis() {
+        return mTimeNanos / 1000000L;
+    }
+}
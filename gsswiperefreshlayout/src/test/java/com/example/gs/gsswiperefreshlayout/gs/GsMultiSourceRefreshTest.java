@@ -0,0 +1,224 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * A pull loading three sources through {@link GsMultiSourceRefresh}. The executor only
+ * queues the loads, the test runs them one by one on its own thread, which is the main
+ * thread here.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsMultiSourceRefreshTest {
+    private static final long DEADLINE = 2000;
+
+    private GsSwipeRefreshLayout mLayout;
+    private GsMultiSourceRefresh mRefresh;
+    private final ArrayList<Runnable> mQueued = new ArrayList<>();
+    private final ArrayList<String> mResults = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        GsFrameTicker.getInstance().setFrameSource(new GsManualFrameSource(1000));
+        mLayout = new GsSwipeRefreshLayout(RuntimeEnvironment.application);
+        mLayout.addView(new View(RuntimeEnvironment.application));
+        mRefresh = new GsMultiSourceRefresh(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                mQueued.add(command);
+            }
+        })
+                .addSource(new Value("feed"), new Record())
+                .addSource(new Value("badges"), new Record())
+                .addSource(new GsMultiSourceRefresh.Source<String>() {
+                    @Override
+                    public String load() throws Exception {
+                        throw new IOException("banners");
+                    }
+                }, new Record());
+        mLayout.setRefreshHandler(mRefresh);
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void allSourcesStartTogether() {
+        pull();
+        assertEquals(3, mQueued.size());
+        assertTrue(mResults.isEmpty());
+        assertTrue(mLayout.isRefreshing());
+    }
+
+    @Test
+    public void resultsArriveAsEachSourceCompletes() {
+        pull();
+        runLoad(1);
+        assertEquals("[badges]", mResults.toString());
+        assertTrue(mLayout.isRefreshing());
+
+        runLoad(2);
+        assertEquals("[badges, failed banners]", mResults.toString());
+        assertTrue(mLayout.isRefreshing());
+
+        runLoad(0);
+        assertEquals("[badges, failed banners, feed]", mResults.toString());
+        assertFalse(mLayout.isRefreshing());
+    }
+
+    @Test
+    public void deadlineStopsIndicatorAndLateResultsStillArrive() {
+        mRefresh.setDeadline(DEADLINE);
+        pull();
+        runLoad(0);
+        advance(DEADLINE);
+        assertFalse(mLayout.isRefreshing());
+
+        runLoad(1);
+        assertEquals("[feed, badges]", mResults.toString());
+    }
+
+    @Test
+    public void pullAfterDeadlineGetsItsOwnDeadline() {
+        mRefresh.setDeadline(DEADLINE);
+        pull();
+        runLoad(0);
+        runLoad(2);
+        advance(DEADLINE);
+        assertFalse(mLayout.isRefreshing());
+
+        // Joins the round still waiting for the hanging badges source
+        pull();
+        assertEquals(3, mQueued.size());
+        assertTrue(mLayout.isRefreshing());
+        advance(DEADLINE);
+        assertFalse(mLayout.isRefreshing());
+    }
+
+    @Test
+    public void rejectedSourceFailsAndRoundStillEnds() {
+        final GsMultiSourceRefresh refresh = new GsMultiSourceRefresh(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                if (!mQueued.isEmpty()) {
+                    throw new RejectedExecutionException("full");
+                }
+                mQueued.add(command);
+            }
+        })
+                .addSource(new Value("feed"), new Record())
+                .addSource(new Value("badges"), new Record());
+        mLayout.setRefreshHandler(refresh);
+        mLayout.setRefreshing(true);
+        refresh.onRefresh(mLayout);
+        assertEquals("[failed full]", mResults.toString());
+        assertTrue(mLayout.isRefreshing());
+
+        runLoad(0);
+        assertEquals("[failed full, feed]", mResults.toString());
+        assertFalse(mLayout.isRefreshing());
+    }
+
+    @Test
+    public void errorInLoadFailsSourceAndRoundStillEnds() {
+        final GsMultiSourceRefresh refresh = new GsMultiSourceRefresh(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                mQueued.add(command);
+            }
+        }).addSource(new GsMultiSourceRefresh.Source<String>() {
+            @Override
+            public String load() {
+                throw new AssertionError("broken");
+            }
+        }, new Record());
+        mLayout.setRefreshHandler(refresh);
+        mLayout.setRefreshing(true);
+        refresh.onRefresh(mLayout);
+        try {
+            runLoad(0);
+            fail();
+        } catch (AssertionError e) {
+            assertEquals("broken", e.getMessage());
+        }
+        assertEquals(1, mResults.size());
+        assertTrue(mResults.get(0).contains("broken"));
+        assertFalse(mLayout.isRefreshing());
+    }
+
+    @Test
+    public void pullDuringRoundWaitsForIt() {
+        pull();
+        pull();
+        assertEquals(3, mQueued.size());
+
+        runLoad(0);
+        runLoad(1);
+        runLoad(2);
+        assertFalse(mLayout.isRefreshing());
+
+        pull();
+        assertEquals(6, mQueued.size());
+    }
+
+    private static void advance(long millis) {
+        Robolectric.getForegroundThreadScheduler().advanceBy(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runLoad(int index) {
+        mQueued.get(index).run();
+    }
+
+    /**
+     * What the layout does once a pull has brought the indicator to its refreshing position.
+     */
+    private void pull() {
+        mLayout.setRefreshing(true);
+        mRefresh.onRefresh(mLayout);
+    }
+
+    private static final class Value implements GsMultiSourceRefresh.Source<String> {
+        private final String mValue;
+
+        Value(String value) {
+            mValue = value;
+        }
+
+        @Override
+        public String load() {
+            return mValue;
+        }
+    }
+
+    private final class Record implements GsMultiSourceRefresh.Callback<String> {
+        @Override
+        public void onLoaded(String result) {
+            mResults.add(result);
+        }
+
+        @Override
+        public void onFailed(@NonNull Exception e) {
+            mResults.add("failed " + e.getMessage());
+        }
+    }
+}
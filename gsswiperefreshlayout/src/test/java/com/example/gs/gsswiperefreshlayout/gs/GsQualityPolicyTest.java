@@ -0,0 +1,59 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Which frames count as slow, depending on the refresh rate of the display. Every sampled
+ * frame comes one 60 Hz vsync after the previous one.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsQualityPolicyTest {
+    private GsManualFrameSource mFrames;
+    private GsQualityPolicy mPolicy;
+    private int mQualityChanges;
+
+    @Before
+    public void setUp() {
+        mFrames = new GsManualFrameSource(1000);
+        GsFrameTicker.getInstance().setFrameSource(mFrames);
+        mPolicy = new GsQualityPolicy(RuntimeEnvironment.application,
+                new GsQualityPolicy.Listener() {
+                    @Override
+                    public void onQualityChanged() {
+                        mQualityChanges++;
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void everyVsyncAt60HzIsFullQuality() {
+        mPolicy.setFrameInterval(1000f / 60);
+        mPolicy.startSampling();
+        mFrames.advance(2000);
+        assertEquals(0, mQualityChanges);
+        assertEquals(GsSwipeRefreshLayout.QUALITY_HIGH, mPolicy.resolve());
+    }
+
+    @Test
+    public void sixtyFramesPerSecondAt120HzDropsToLowQuality() {
+        mPolicy.setFrameInterval(1000f / 120);
+        mPolicy.startSampling();
+        mFrames.advance(2000);
+        assertEquals(1, mQualityChanges);
+        assertEquals(GsSwipeRefreshLayout.QUALITY_LOW, mPolicy.resolve());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pulls on layouts attached to a {@link GsRefreshCoordinator}, two of them showing the same
+ * source. Loads are completed from the test thread, which is the main thread here.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsRefreshCoordinatorTest {
+    private static final String FEED = "feed";
+    private static final String BADGES = "badges";
+
+    private GsSwipeRefreshLayout mFeed1;
+    private GsSwipeRefreshLayout mFeed2;
+    private GsSwipeRefreshLayout mBadges;
+    private GsRefreshCoordinator<String> mCoordinator;
+    private final ArrayList<String> mLoads = new ArrayList<>();
+    private final ArrayList<GsRefreshCoordinator.Completion> mCompletions = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        GsFrameTicker.getInstance().setFrameSource(new GsManualFrameSource(1000));
+        mCoordinator = new GsRefreshCoordinator<>(new GsRefreshCoordinator.Loader<String>() {
+            @Override
+            public void load(@NonNull String key,
+                             @NonNull GsRefreshCoordinator.Completion completion) {
+                mLoads.add(key);
+                mCompletions.add(completion);
+            }
+        });
+        mFeed1 = newLayout();
+        mFeed2 = newLayout();
+        mBadges = newLayout();
+        mCoordinator.attach(mFeed1, FEED);
+        mCoordinator.attach(mFeed2, FEED);
+        mCoordinator.attach(mBadges, BADGES);
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void pullRefreshesEveryLayoutOfTheSource() {
+        pull(mFeed1);
+        assertEquals("[feed]", mLoads.toString());
+        assertTrue(mFeed1.isRefreshing());
+        assertTrue(mFeed2.isRefreshing());
+        assertFalse(mBadges.isRefreshing());
+    }
+
+    @Test
+    public void concurrentPullsJoinOneLoad() {
+        pull(mFeed1);
+        pull(mFeed2);
+        assertEquals("[feed]", mLoads.toString());
+
+        mCompletions.get(0).complete();
+        assertFalse(mFeed1.isRefreshing());
+        assertFalse(mFeed2.isRefreshing());
+        assertFalse(mCoordinator.isRefreshing(FEED));
+
+        pull(mFeed2);
+        assertEquals("[feed, feed]", mLoads.toString());
+    }
+
+    @Test
+    public void sourcesLoadIndependently() {
+        pull(mFeed1);
+        pull(mBadges);
+        assertEquals("[feed, badges]", mLoads.toString());
+
+        mCompletions.get(1).complete();
+        assertFalse(mBadges.isRefreshing());
+        assertTrue(mFeed1.isRefreshing());
+        assertTrue(mFeed2.isRefreshing());
+    }
+
+    @Test
+    public void onlyFirstCompletionCounts() {
+        pull(mFeed1);
+        mCompletions.get(0).complete();
+        pull(mFeed1);
+        // Late second call on the old load must not stop the new one
+        mCompletions.get(0).complete();
+        assertTrue(mFeed1.isRefreshing());
+        assertTrue(mCoordinator.isRefreshing(FEED));
+    }
+
+    @Test
+    public void layoutAttachedDuringLoadJoinsIt() {
+        pull(mFeed1);
+        final GsSwipeRefreshLayout late = newLayout();
+        mCoordinator.attach(late, FEED);
+        assertTrue(late.isRefreshing());
+
+        mCompletions.get(0).complete();
+        assertFalse(late.isRefreshing());
+    }
+
+    @Test
+    public void detachedLayoutIsLeftAlone() {
+        pull(mFeed1);
+        mCoordinator.detach(mFeed2);
+        mCompletions.get(0).complete();
+        assertFalse(mFeed1.isRefreshing());
+        assertTrue(mFeed2.isRefreshing());
+    }
+
+    @Test
+    public void reattachedUnderIdleKeyDuringLoadStops() {
+        pull(mFeed1);
+        mCoordinator.attach(mFeed2, BADGES);
+        assertFalse(mFeed2.isRefreshing());
+        assertTrue(mFeed1.isRefreshing());
+
+        mCompletions.get(0).complete();
+        assertFalse(mFeed1.isRefreshing());
+    }
+
+    @Test
+    public void reattachedUnderLoadingKeyJoinsThatLoad() {
+        pull(mFeed1);
+        pull(mBadges);
+        mCoordinator.attach(mFeed2, BADGES);
+        assertTrue(mFeed2.isRefreshing());
+
+        mCompletions.get(0).complete();
+        assertTrue(mFeed2.isRefreshing());
+        mCompletions.get(1).complete();
+        assertFalse(mFeed2.isRefreshing());
+    }
+
+    private static GsSwipeRefreshLayout newLayout() {
+        final GsSwipeRefreshLayout layout =
+                new GsSwipeRefreshLayout(RuntimeEnvironment.application);
+        layout.addView(new View(RuntimeEnvironment.application));
+        return layout;
+    }
+
+    /**
+     * What the layout does once a pull has brought the indicator to its refreshing position.
+     */
+    private void pull(GsSwipeRefreshLayout layout) {
+        layout.setRefreshing(true);
+        mCoordinator.onRefresh(layout);
+    }
+}
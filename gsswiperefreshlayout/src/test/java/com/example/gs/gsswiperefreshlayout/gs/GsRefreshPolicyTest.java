@@ -0,0 +1,146 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * What a pull loads under a {@link GsRefreshPolicy}, depending on how old the cached result
+ * is. Results are delivered from the test thread, which is the main thread here.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsRefreshPolicyTest {
+    private static final long MIN_INTERVAL = 5000;
+    private static final long TTL = 60000;
+
+    private GsSwipeRefreshLayout mLayout;
+    private GsRefreshPolicy.MemoryCache<String> mCache;
+    private GsRefreshPolicy<String> mPolicy;
+    private final ArrayList<GsRefreshPolicy.Request<String>> mLoads = new ArrayList<>();
+    private final ArrayList<String> mResults = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        GsFrameTicker.getInstance().setFrameSource(new GsManualFrameSource(1000));
+        mLayout = new GsSwipeRefreshLayout(RuntimeEnvironment.application);
+        mLayout.addView(new View(RuntimeEnvironment.application));
+        mCache = new GsRefreshPolicy.MemoryCache<>();
+        mPolicy = new GsRefreshPolicy<>(
+                new GsRefreshPolicy.Loader<String>() {
+                    @Override
+                    public void load(GsRefreshPolicy.Request<String> request) {
+                        mLoads.add(request);
+                    }
+                },
+                new GsRefreshPolicy.Listener<String>() {
+                    @Override
+                    public void onResult(String result, boolean fromCache) {
+                        mResults.add(result + (fromCache ? " cached" : ""));
+                    }
+                })
+                .setCache(mCache)
+                .setMinRefreshInterval(MIN_INTERVAL)
+                .setTtl(TTL);
+        mLayout.setRefreshHandler(mPolicy);
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void withoutCacheSpinsUntilLoaded() {
+        pull();
+        assertEquals(1, mLoads.size());
+        assertTrue(mLayout.isRefreshing());
+
+        mLoads.get(0).deliver("a");
+        assertFalse(mLayout.isRefreshing());
+        assertEquals("[a]", mResults.toString());
+        assertEquals("a", mCache.get().value);
+    }
+
+    @Test
+    public void pullWithinMinIntervalCompletesFromCache() {
+        cache("a", MIN_INTERVAL / 2);
+        pull();
+        assertTrue(mLoads.isEmpty());
+        assertFalse(mLayout.isRefreshing());
+        assertEquals("[a cached]", mResults.toString());
+    }
+
+    @Test
+    public void pullWithinTtlRevalidatesInBackground() {
+        mPolicy.setRevalidateInBackground(true);
+        cache("a", MIN_INTERVAL * 2);
+        pull();
+        assertEquals(1, mLoads.size());
+        assertFalse(mLayout.isRefreshing());
+        assertEquals("[a cached]", mResults.toString());
+
+        mLoads.get(0).deliver("b");
+        assertEquals("[a cached, b]", mResults.toString());
+    }
+
+    @Test
+    public void pullPastTtlSpinsUntilLoaded() {
+        mPolicy.setRevalidateInBackground(true);
+        cache("a", TTL * 2);
+        pull();
+        assertEquals(1, mLoads.size());
+        assertTrue(mLayout.isRefreshing());
+        assertTrue(mResults.isEmpty());
+    }
+
+    @Test
+    public void pullDuringLoadWaitsForIt() {
+        pull();
+        pull();
+        assertEquals(1, mLoads.size());
+
+        mLoads.get(0).fail();
+        assertFalse(mLayout.isRefreshing());
+        assertTrue(mResults.isEmpty());
+        assertNull(mCache.get());
+    }
+
+    @Test
+    public void layoutsSharingPolicyAllWaitForLoad() {
+        final GsSwipeRefreshLayout other = new GsSwipeRefreshLayout(RuntimeEnvironment.application);
+        other.addView(new View(RuntimeEnvironment.application));
+        other.setRefreshHandler(mPolicy);
+        pull();
+        other.setRefreshing(true);
+        mPolicy.onRefresh(other);
+        assertEquals(1, mLoads.size());
+
+        mLoads.get(0).deliver("a");
+        assertFalse(mLayout.isRefreshing());
+        assertFalse(other.isRefreshing());
+        assertEquals("[a]", mResults.toString());
+    }
+
+    private void cache(String value, long ageMillis) {
+        mCache.put(new GsRefreshPolicy.Entry<>(value, System.currentTimeMillis() - ageMillis));
+    }
+
+    /**
+     * What the layout does once a pull has brought the indicator to its refreshing position.
+     */
+    private void pull() {
+        mLayout.setRefreshing(true);
+        mPolicy.onRefresh(mLayout);
+    }
+}
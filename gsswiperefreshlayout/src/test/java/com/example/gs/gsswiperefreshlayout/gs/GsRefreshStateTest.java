@@ -0,0 +1,166 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import org.junit.Test;
+
+import static com.example.gs.gsswiperefreshlayout.gs.GsRefreshState.*;
+import static org.junit.Assert.*;
+
+/**
+ * Transitions of the refresh state machine, plus a benchmark of how many events it handles
+ * per second. Plain JUnit, no Android needed.
+ */
+public class GsRefreshStateTest {
+    private static final int BENCHMARK_CYCLES = 2000000;
+
+    // A pull that refreshes and is finished, then one that is let go too early
+    private static final int[] CYCLE = new int[] {
+            EVENT_PULL, EVENT_PULL, EVENT_PULL_PAST_TRIGGER, EVENT_TRIGGER, EVENT_SETTLED,
+            EVENT_FINISH, EVENT_RESET, EVENT_PULL, EVENT_RELEASE, EVENT_RESET
+    };
+
+    @Test
+    public void pullPastTriggerRefreshesUntilFinished() {
+        final GsRefreshState state = new GsRefreshState();
+        assertEquals(IDLE, state.get());
+        assertTrue(state.dispatch(EVENT_PULL));
+        assertEquals(DRAGGING, state.get());
+        assertTrue(state.dispatch(EVENT_PULL_PAST_TRIGGER));
+        assertEquals(ARMED, state.get());
+        assertTrue(state.dispatch(EVENT_TRIGGER));
+        assertEquals(SETTLING, state.get());
+        assertTrue(state.isRefreshing());
+        assertFalse(state.canPull());
+        assertTrue(state.dispatch(EVENT_SETTLED));
+        assertEquals(REFRESHING, state.get());
+        assertTrue(state.dispatch(EVENT_FINISH));
+        assertEquals(DISMISSING, state.get());
+        assertFalse(state.isRefreshing());
+        assertTrue(state.dispatch(EVENT_RESET));
+        assertEquals(IDLE, state.get());
+    }
+
+    @Test
+    public void releaseShortOfTriggerDismisses() {
+        final GsRefreshState state = new GsRefreshState();
+        state.dispatch(EVENT_PULL_PAST_TRIGGER);
+        state.dispatch(EVENT_PULL);
+        assertEquals(DRAGGING, state.get());
+        state.dispatch(EVENT_RELEASE);
+        assertEquals(DISMISSING, state.get());
+        assertTrue(state.canPull());
+        // Grabbed again on its way back
+        state.dispatch(EVENT_PULL);
+        assertEquals(DRAGGING, state.get());
+    }
+
+    @Test
+    public void resetKeepsRefreshInProgress() {
+        final GsRefreshState state = new GsRefreshState();
+        state.dispatch(EVENT_TRIGGER);
+        state.dispatch(EVENT_RESET);
+        assertEquals(REFRESHING, state.get());
+        state.dispatch(EVENT_ABORT);
+        assertEquals(IDLE, state.get());
+    }
+
+    @Test
+    public void eventsOutOfPlaceAreIgnored() {
+        final GsRefreshState state = new GsRefreshState();
+        assertFalse(state.dispatch(EVENT_SETTLED));
+        assertFalse(state.dispatch(EVENT_FINISH));
+        assertFalse(state.dispatch(EVENT_RELEASE));
+        assertEquals(IDLE, state.get());
+
+        state.dispatch(EVENT_TRIGGER);
+        state.dispatch(EVENT_SETTLED);
+        assertFalse(state.dispatch(EVENT_PULL));
+        assertFalse(state.dispatch(EVENT_TRIGGER));
+        assertEquals(REFRESHING, state.get());
+    }
+
+    @Test
+    public void listenerOnlyHearsChanges() {
+        final GsRefreshState state = new GsRefreshState();
+        final StringBuilder changes = new StringBuilder();
+        state.setListener(new GsRefreshState.Listener() {
+            @Override
+            public void onStateChanged(int from, int to) {
+                changes.append(GsRefreshState.toString(from)).append('>')
+                        .append(GsRefreshState.toString(to)).append(' ');
+            }
+        });
+        state.dispatch(EVENT_PULL);
+        state.dispatch(EVENT_PULL);
+        state.dispatch(EVENT_SETTLED);
+        state.dispatch(EVENT_RELEASE);
+        state.dispatch(EVENT_RESET);
+        assertEquals("IDLE>DRAGGING DRAGGING>DISMISSING DISMISSING>IDLE ", changes.toString());
+    }
+
+    @Test
+    public void everyStateHandlesEveryEvent() {
+        for (int from = 0; from < STATE_COUNT; from++) {
+            for (int event = 0; event < EVENT_COUNT; event++) {
+                final GsRefreshState state = enter(from);
+                state.dispatch(event);
+                assertTrue(state.get() >= 0 && state.get() < STATE_COUNT);
+            }
+            // Whatever happened, abort always gets back to rest
+            final GsRefreshState state = enter(from);
+            state.dispatch(EVENT_ABORT);
+            assertEquals(IDLE, state.get());
+        }
+    }
+
+    @Test
+    public void dispatchThroughput() {
+        final GsRefreshState state = new GsRefreshState();
+        // Warm up
+        runCycles(state, BENCHMARK_CYCLES / 10);
+        final long start = System.nanoTime();
+        final int accepted = runCycles(state, BENCHMARK_CYCLES);
+        final long elapsed = System.nanoTime() - start;
+        final long events = (long) BENCHMARK_CYCLES * CYCLE.length;
+        System.out.println(String.format("%d state events: %.1f million events/s", events,
+                events * 1e3 / elapsed));
+        assertEquals(events, accepted);
+        assertEquals(IDLE, state.get());
+    }
+
+    private static int runCycles(GsRefreshState state, int cycles) {
+        int accepted = 0;
+        for (int i = 0; i < cycles; i++) {
+            for (int event : CYCLE) {
+                if (state.dispatch(event)) {
+                    accepted++;
+                }
+            }
+        }
+        return accepted;
+    }
+
+    private static GsRefreshState enter(int target) {
+        final GsRefreshState state = new GsRefreshState();
+        switch (target) {
+            case DRAGGING:
+                state.dispatch(EVENT_PULL);
+                break;
+            case ARMED:
+                state.dispatch(EVENT_PULL_PAST_TRIGGER);
+                break;
+            case SETTLING:
+                state.dispatch(EVENT_TRIGGER);
+                break;
+            case REFRESHING:
+                state.dispatch(EVENT_TRIGGER);
+                state.dispatch(EVENT_SETTLED);
+                break;
+            case DISMISSING:
+                state.dispatch(EVENT_PULL);
+                state.dispatch(EVENT_RELEASE);
+                break;
+        }
+        assertEquals(target, state.get());
+        return state;
+    }
+}
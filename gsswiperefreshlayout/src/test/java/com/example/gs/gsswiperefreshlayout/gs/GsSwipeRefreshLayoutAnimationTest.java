@@ -0,0 +1,299 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pull, settle and return animations of GsSwipeRefreshLayout, stepped frame by frame with a
+ * {@link GsManualFrameSource} instead of waiting for real time to pass. The last test runs
+ * whole pull to refresh cycles back to back and prints how many it gets through per second.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsSwipeRefreshLayoutAnimationTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final float START_Y = 100;
+    // Far enough past the trigger distance to refresh, or well short of it
+    private static final float LONG_PULL = 300;
+    private static final float SHORT_PULL = 40;
+    private static final long SETTLE_MILLIS = 500;
+    private static final int CYCLES = 1000;
+
+    private GsManualFrameSource mFrames;
+    private GsSwipeRefreshLayout mLayout;
+    private int mTouchSlop;
+    private int mRefreshCount;
+    private long mDownTime;
+    private long mEventTime;
+
+    @Before
+    public void setUp() {
+        final Context context = RuntimeEnvironment.application;
+        mFrames = new GsManualFrameSource(1000);
+        GsFrameTicker.getInstance().setFrameSource(mFrames);
+
+        mLayout = new GsSwipeRefreshLayout(context);
+        mLayout.addView(new View(context));
+        mLayout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mLayout.layout(0, 0, WIDTH, HEIGHT);
+        mLayout.setOnRefreshListener(new GsSwipeRefreshLayout.OnRefreshListener() {
+            @Override
+            public void onRefresh() {
+                mRefreshCount++;
+            }
+        });
+        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void releasePastTriggerSettlesAndRefreshes() {
+        pull(LONG_PULL);
+        release(LONG_PULL);
+        assertEquals(0, mRefreshCount);
+
+        mFrames.advance(SETTLE_MILLIS);
+        assertTrue(mLayout.isRefreshing());
+        assertEquals(1, mRefreshCount);
+        assertEquals(mLayout.mSpinnerOffsetEnd + mLayout.mOriginalOffsetTop,
+                mLayout.mCurrentTargetOffsetTop);
+
+        mLayout.setRefreshing(false);
+        mFrames.advance(SETTLE_MILLIS);
+        assertEquals(View.GONE, mLayout.mHeaderView.getVisibility());
+        assertEquals(mLayout.mOriginalOffsetTop, mLayout.mCurrentTargetOffsetTop);
+    }
+
+    @Test
+    public void refreshHandlerFinishingRightAwayReturnsToIdle() {
+        final int[] handled = new int[1];
+        // Like a policy turning down a refresh, or one with no sources to load
+        mLayout.setRefreshHandler(new GsSwipeRefreshLayout.RefreshHandler() {
+            @Override
+            public void onRefresh(GsSwipeRefreshLayout layout) {
+                handled[0]++;
+                layout.setRefreshing(false);
+            }
+        });
+        pull(LONG_PULL);
+        release(LONG_PULL);
+        mFrames.advance(SETTLE_MILLIS);
+
+        assertEquals(1, handled[0]);
+        assertEquals(0, mRefreshCount);
+        assertEquals(GsRefreshState.IDLE, mLayout.mRefreshState.get());
+        assertEquals(View.GONE, mLayout.mHeaderView.getVisibility());
+        assertEquals(mLayout.mOriginalOffsetTop, mLayout.mCurrentTargetOffsetTop);
+    }
+
+    @Test
+    public void shortPullReturnsToStartOneFrameAtATime() {
+        pull(SHORT_PULL);
+        final int pulledOffset = mLayout.mCurrentTargetOffsetTop;
+        release(SHORT_PULL);
+
+        // The first frame only fixes the start time of the animation
+        mFrames.frame();
+        assertEquals(pulledOffset, mLayout.mCurrentTargetOffsetTop);
+        mFrames.frame();
+        assertTrue(mLayout.mCurrentTargetOffsetTop < pulledOffset);
+        assertTrue(mLayout.mCurrentTargetOffsetTop > mLayout.mOriginalOffsetTop);
+
+        mFrames.advance(SETTLE_MILLIS);
+        assertFalse(mLayout.isRefreshing());
+        assertEquals(0, mRefreshCount);
+        assertEquals(mLayout.mOriginalOffsetTop, mLayout.mCurrentTargetOffsetTop);
+    }
+
+    @Test
+    public void newGestureGrabsReturningIndicator() {
+        pull(SHORT_PULL);
+        release(SHORT_PULL);
+        mFrames.frame();
+        mFrames.frame();
+        mFrames.frame();
+        final int returningOffset = mLayout.mCurrentTargetOffsetTop;
+        assertTrue(returningOffset > mLayout.mOriginalOffsetTop);
+
+        down();
+        assertEquals(returningOffset, mLayout.mCurrentTargetOffsetTop);
+        move(mTouchSlop + 1);
+        assertEquals(returningOffset, mLayout.mCurrentTargetOffsetTop, 2);
+
+        // Nothing animates it away while the finger holds it
+        mFrames.advance(SETTLE_MILLIS);
+        assertEquals(returningOffset, mLayout.mCurrentTargetOffsetTop, 2);
+    }
+
+    @Test
+    public void refreshProgressIsSampledOncePerFrame() {
+        mLayout.setRefreshing(true);
+        mFrames.advance(SETTLE_MILLIS);
+        mLayout.setRefreshProgress(.2f);
+        mLayout.setRefreshProgress(.5f);
+        assertEquals(GsSwipeRefreshLayout.PROGRESS_INDETERMINATE,
+                mLayout.mAppliedRefreshProgress, 0);
+        mFrames.frame();
+        assertEquals(.5f, mLayout.mAppliedRefreshProgress, 0);
+
+        // Forgotten once the refresh is finished
+        mLayout.setRefreshing(false);
+        mFrames.advance(SETTLE_MILLIS);
+        mLayout.setRefreshing(true);
+        mFrames.advance(SETTLE_MILLIS);
+        assertEquals(GsSwipeRefreshLayout.PROGRESS_INDETERMINATE,
+                mLayout.mAppliedRefreshProgress, 0);
+    }
+
+    @Test
+    public void nanAndLateRefreshProgressSpinAgain() {
+        mLayout.setRefreshing(true);
+        mFrames.advance(SETTLE_MILLIS);
+        mLayout.setRefreshProgress(.5f);
+        mFrames.frame();
+        mLayout.setRefreshProgress(Float.NaN);
+        mFrames.frame();
+        assertEquals(GsSwipeRefreshLayout.PROGRESS_INDETERMINATE,
+                mLayout.mAppliedRefreshProgress, 0);
+
+        // A report coming in after the refresh is finished is not carried into the next one
+        mLayout.setRefreshing(false);
+        mLayout.setRefreshProgress(.7f);
+        mFrames.advance(SETTLE_MILLIS);
+        mLayout.setRefreshing(true);
+        mFrames.advance(SETTLE_MILLIS);
+        assertEquals(GsSwipeRefreshLayout.PROGRESS_INDETERMINATE,
+                mLayout.mAppliedRefreshProgress, 0);
+    }
+
+    @Test
+    public void refreshingBeforeFirstLayoutSettlesAtRefreshingPosition() {
+        final Context context = RuntimeEnvironment.application;
+        final GsSwipeRefreshLayout layout = new GsSwipeRefreshLayout(context);
+        layout.addView(new View(context));
+        layout.setRefreshing(true);
+        layout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        layout.layout(0, 0, WIDTH, HEIGHT);
+        mFrames.advance(SETTLE_MILLIS);
+
+        assertEquals(layout.mOriginalOffsetTop + layout.mSpinnerOffsetEnd,
+                layout.mHeaderView.getTop());
+        assertEquals(layout.mOriginalOffsetTop + layout.mSpinnerOffsetEnd,
+                layout.mCurrentTargetOffsetTop);
+    }
+
+    @Test
+    public void restoredRefreshingShowsRightAwayWithoutOnRefresh() {
+        mLayout.setProgressViewOffset(false, 10, 300);
+        mLayout.setRefreshing(true);
+        mLayout.setRefreshToken("page-2");
+        mFrames.advance(SETTLE_MILLIS);
+        final Parcelable state = parcel(mLayout.onSaveInstanceState());
+
+        final Context context = RuntimeEnvironment.application;
+        final GsSwipeRefreshLayout restored = new GsSwipeRefreshLayout(context);
+        restored.addView(new View(context));
+        restored.setOnRefreshListener(new GsSwipeRefreshLayout.OnRefreshListener() {
+            @Override
+            public void onRefresh() {
+                mRefreshCount++;
+            }
+        });
+        restored.onRestoreInstanceState(state);
+        restored.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        restored.layout(0, 0, WIDTH, HEIGHT);
+
+        assertTrue(restored.isRefreshing());
+        assertEquals("page-2", restored.getRefreshToken());
+        assertEquals(10, restored.getProgressViewStartOffset());
+        assertEquals(300, restored.mCurrentTargetOffsetTop);
+        assertEquals(300, restored.mHeaderView.getTop());
+        assertEquals(View.VISIBLE, restored.mHeaderView.getVisibility());
+        // Shown at full size without scaling up, and the refresh was not triggered again
+        assertEquals(1f, restored.mHeaderView.getScaleX(), 0);
+        assertEquals(0, mRefreshCount);
+
+        restored.setRefreshing(false);
+        mFrames.advance(SETTLE_MILLIS);
+        assertNull(restored.getRefreshToken());
+    }
+
+    @Test
+    public void pullToRefreshCycleThroughput() {
+        final long start = System.nanoTime();
+        for (int i = 0; i < CYCLES; i++) {
+            pull(LONG_PULL);
+            release(LONG_PULL);
+            mFrames.advance(SETTLE_MILLIS);
+            mLayout.setRefreshing(false);
+            mFrames.advance(SETTLE_MILLIS);
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%d pull to refresh cycles: %.0f cycles/s, %.1f us each",
+                CYCLES, CYCLES * 1e9 / elapsed, elapsed / 1e3 / CYCLES));
+        assertEquals(CYCLES, mRefreshCount);
+        assertEquals(mLayout.mOriginalOffsetTop, mLayout.mCurrentTargetOffsetTop);
+    }
+
+    private static Parcelable parcel(Parcelable state) {
+        final Parcel parcel = Parcel.obtain();
+        try {
+            state.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return GsSwipeRefreshLayout.SavedState.CREATOR.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private void pull(float distance) {
+        down();
+        move(mTouchSlop + 1);
+        move(mTouchSlop + distance);
+    }
+
+    private void release(float distance) {
+        dispatch(MotionEvent.ACTION_UP, mTouchSlop + distance);
+    }
+
+    private void down() {
+        mDownTime = mEventTime + 1000;
+        dispatch(MotionEvent.ACTION_DOWN, 0);
+    }
+
+    private void move(float distance) {
+        dispatch(MotionEvent.ACTION_MOVE, distance);
+    }
+
+    private void dispatch(int action, float distance) {
+        // A second apart, slow enough to never count as a flick. Only the velocity tracker
+        // looks at event times, so no frames are run in between.
+        mEventTime += 1000;
+        final MotionEvent event = MotionEvent.obtain(mDownTime, mEventTime, action,
+                WIDTH / 2, START_Y + distance, 0);
+        mLayout.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.app.Activity;
+import android.support.v4.view.ViewCompat;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Throws random interleavings of touch events with up to three fingers, nested scroll
+ * callbacks, setRefreshing calls, detaches and reattaches at GsSwipeRefreshLayout, with
+ * frames run in between by a {@link GsManualFrameSource}. After every step the indicator has
+ * to stay within the range it can be pulled to, and every so often all gestures are ended
+ * and the refresh finished, after which the layout has to come back to rest with no
+ * animation left running. Every run uses a fixed seed, so a failure can be replayed. Prints
+ * how many steps per second it gets through.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsSwipeRefreshLayoutFuzzTest {
+    private static final long BASE_SEED = 0x5eedL;
+    private static final int RUNS = 20;
+    private static final int STEPS_PER_RUN = 5000;
+    private static final int STEPS_BETWEEN_REST_CHECKS = 250;
+    private static final long REST_MILLIS = 2000;
+    private static final int HISTORY_SIZE = 40;
+    // Enough for a lifted active pointer to have more than one finger to hand over to
+    private static final int MAX_POINTERS = 3;
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private GsManualFrameSource mFrames;
+    private FrameLayout mContainer;
+    private GsSwipeRefreshLayout mLayout;
+    private View mChild;
+    private int mBaselineCallbacks;
+
+    private Random mRandom;
+    private long mSeed;
+    private final ArrayDeque<String> mHistory = new ArrayDeque<>();
+
+    private boolean mAttached;
+    private boolean mNestedScrolling;
+    private boolean mTouching;
+    private int mPointerCount;
+    private final int[] mPointerIds = new int[MAX_POINTERS];
+    private final float[] mPointerYs = new float[MAX_POINTERS];
+    private long mDownTime;
+    private long mEventTime;
+
+    @Before
+    public void setUp() {
+        mFrames = new GsManualFrameSource(1000);
+        GsFrameTicker.getInstance().setFrameSource(mFrames);
+        // Callbacks left behind by other tests in this process
+        mBaselineCallbacks = GsFrameTicker.getInstance().getCallbackCount();
+
+        final Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        mContainer = new FrameLayout(activity);
+        activity.setContentView(mContainer);
+        mLayout = new GsSwipeRefreshLayout(activity);
+        mChild = new View(activity);
+        mLayout.addView(mChild);
+        attach();
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void randomEventSequences() {
+        long steps = 0;
+        final long start = System.nanoTime();
+        for (int run = 0; run < RUNS; run++) {
+            mSeed = BASE_SEED + run;
+            mRandom = new Random(mSeed);
+            mHistory.clear();
+            for (int i = 1; i <= STEPS_PER_RUN; i++) {
+                step();
+                steps++;
+                checkInRange();
+                if (i % STEPS_BETWEEN_REST_CHECKS == 0) {
+                    settle();
+                    checkAtRest();
+                }
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%d fuzz steps: %.0f steps/s", steps,
+                steps * 1e9 / elapsed));
+    }
+
+    private void step() {
+        final int choice = mRandom.nextInt(100);
+        if (choice < 40 && mAttached) {
+            touchStep();
+        } else if (choice < 65 && mAttached) {
+            nestedStep();
+        } else if (choice < 72) {
+            final boolean refreshing = mRandom.nextBoolean();
+            record("setRefreshing(" + refreshing + ")");
+            mLayout.setRefreshing(refreshing);
+        } else if (choice < 76) {
+            if (mAttached) {
+                detach();
+            } else {
+                attach();
+            }
+        } else {
+            final int frames = 1 + mRandom.nextInt(8);
+            record(frames + " frames");
+            for (int i = 0; i < frames; i++) {
+                mFrames.frame();
+            }
+        }
+    }
+
+    private void touchStep() {
+        if (!mTouching) {
+            mTouching = true;
+            mPointerCount = 1;
+            mPointerIds[0] = 0;
+            mPointerYs[0] = mRandom.nextInt(HEIGHT / 2);
+            mDownTime = mEventTime;
+            touch(MotionEvent.ACTION_DOWN, 0);
+            return;
+        }
+        final int choice = mRandom.nextInt(100);
+        if (choice < 60) {
+            for (int i = 0; i < mPointerCount; i++) {
+                mPointerYs[i] += mRandom.nextInt(211) - 60;
+            }
+            touch(MotionEvent.ACTION_MOVE, 0);
+        } else if (choice < 70) {
+            if (mPointerCount == 1
+                    || (mPointerCount < MAX_POINTERS && mRandom.nextBoolean())) {
+                addPointer();
+            } else {
+                removePointer(mRandom.nextInt(mPointerCount));
+            }
+        } else if (choice < 90) {
+            touch(MotionEvent.ACTION_UP, 0);
+            mTouching = false;
+        } else {
+            touch(MotionEvent.ACTION_CANCEL, 0);
+            mTouching = false;
+        }
+    }
+
+    private void addPointer() {
+        // The lowest id not in use, like the framework hands them out
+        int id = 0;
+        while (isPointerIdInUse(id)) {
+            id++;
+        }
+        mPointerIds[mPointerCount] = id;
+        mPointerYs[mPointerCount] = mRandom.nextInt(HEIGHT / 2);
+        mPointerCount++;
+        touch(MotionEvent.ACTION_POINTER_DOWN, mPointerCount - 1);
+    }
+
+    private boolean isPointerIdInUse(int id) {
+        for (int i = 0; i < mPointerCount; i++) {
+            if (mPointerIds[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removePointer(int index) {
+        touch(MotionEvent.ACTION_POINTER_UP, index);
+        for (int i = index; i < mPointerCount - 1; i++) {
+            mPointerIds[i] = mPointerIds[i + 1];
+            mPointerYs[i] = mPointerYs[i + 1];
+        }
+        mPointerCount--;
+    }
+
+    private void touch(int action, int actionIndex) {
+        final StringBuilder step = new StringBuilder("touch ")
+                .append(MotionEvent.actionToString(action))
+                .append(" index ").append(actionIndex).append(" y");
+        final MotionEvent.PointerProperties[] properties =
+                new MotionEvent.PointerProperties[mPointerCount];
+        final MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[mPointerCount];
+        for (int i = 0; i < mPointerCount; i++) {
+            properties[i] = new MotionEvent.PointerProperties();
+            properties[i].id = mPointerIds[i];
+            properties[i].toolType = MotionEvent.TOOL_TYPE_FINGER;
+            coords[i] = new MotionEvent.PointerCoords();
+            coords[i].x = WIDTH / 2;
+            coords[i].y = mPointerYs[i];
+            step.append(i == 0 ? " " : "/").append(mPointerYs[i]);
+        }
+        record(step.toString());
+        mEventTime += 1 + mRandom.nextInt(32);
+        final MotionEvent event = MotionEvent.obtain(mDownTime, mEventTime,
+                action | (actionIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT),
+                mPointerCount, properties, coords, 0, 0, 1f, 1f, 0, 0,
+                InputDevice.SOURCE_TOUCHSCREEN, 0);
+        mLayout.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private void nestedStep() {
+        if (!mNestedScrolling) {
+            record("nested start");
+            if (mLayout.onStartNestedScroll(mChild, mChild, ViewCompat.SCROLL_AXIS_VERTICAL)) {
+                mLayout.onNestedScrollAccepted(mChild, mChild, ViewCompat.SCROLL_AXIS_VERTICAL);
+                mNestedScrolling = true;
+            }
+            return;
+        }
+        final int choice = mRandom.nextInt(100);
+        if (choice < 35) {
+            final int dy = mRandom.nextInt(101) - 40;
+            record("nested pre scroll " + dy);
+            mLayout.onNestedPreScroll(mChild, 0, dy, new int[2]);
+        } else if (choice < 70) {
+            final int dyUnconsumed = mRandom.nextInt(91) - 80;
+            record("nested scroll " + dyUnconsumed);
+            mLayout.onNestedScroll(mChild, 0, 0, 0, dyUnconsumed);
+        } else if (choice < 80) {
+            final float velocityY = mRandom.nextInt(6001) - 3000;
+            record("nested pre fling " + velocityY);
+            mLayout.onNestedPreFling(mChild, 0, velocityY);
+        } else {
+            stopNestedScroll();
+        }
+    }
+
+    private void stopNestedScroll() {
+        record("nested stop");
+        mLayout.onStopNestedScroll(mChild);
+        mNestedScrolling = false;
+    }
+
+    private void detach() {
+        // The framework cancels touches and the child stops scrolling before detaching
+        if (mTouching) {
+            touch(MotionEvent.ACTION_CANCEL, 0);
+            mTouching = false;
+        }
+        if (mNestedScrolling) {
+            stopNestedScroll();
+        }
+        record("detach");
+        mContainer.removeView(mLayout);
+        mAttached = false;
+    }
+
+    private void attach() {
+        record("attach");
+        mContainer.addView(mLayout);
+        mLayout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mLayout.layout(0, 0, WIDTH, HEIGHT);
+        mAttached = true;
+    }
+
+    /**
+     * End every gesture, finish the refresh and give the indicator time to get back.
+     */
+    private void settle() {
+        if (mTouching) {
+            touch(MotionEvent.ACTION_UP, 0);
+            mTouching = false;
+        }
+        if (mNestedScrolling) {
+            stopNestedScroll();
+        }
+        if (!mAttached) {
+            attach();
+        }
+        record("setRefreshing(false)");
+        mLayout.setRefreshing(false);
+        mFrames.advance(REST_MILLIS);
+        // The layout logs every move, don't let the captured logs pile up
+        ShadowLog.reset();
+    }
+
+    private void checkInRange() {
+        final int offset = mLayout.mCurrentTargetOffsetTop;
+        final int min = mLayout.mOriginalOffsetTop;
+        // The spring past the trigger point gives at most another slingshot distance
+        final int max = mLayout.mOriginalOffsetTop + 2 * mLayout.mSpinnerOffsetEnd;
+        if (offset < min || offset > max) {
+            fail("Indicator offset " + offset + " outside [" + min + ", " + max + "]");
+        }
+    }
+
+    private void checkAtRest() {
+        if (mLayout.mRefreshState.get() != GsRefreshState.IDLE) {
+            fail("Not idle but " + mLayout.mRefreshState);
+        }
+        if (mLayout.mCurrentTargetOffsetTop != mLayout.mOriginalOffsetTop) {
+            fail("Indicator left at " + mLayout.mCurrentTargetOffsetTop);
+        }
+        if (mLayout.mHeaderView != null && mLayout.mHeaderView.getVisibility() != View.GONE) {
+            fail("Indicator still showing");
+        }
+        final int callbacks = GsFrameTicker.getInstance().getCallbackCount();
+        if (callbacks != mBaselineCallbacks) {
+            fail((callbacks - mBaselineCallbacks) + " frame callbacks still registered");
+        }
+    }
+
+    private void record(String step) {
+        if (mHistory.size() == HISTORY_SIZE) {
+            mHistory.removeFirst();
+        }
+        mHistory.addLast(step);
+    }
+
+    private void fail(String message) {
+        final StringBuilder sb = new StringBuilder(message)
+                .append("\nseed ").append(mSeed).append(", last steps:");
+        for (String step : mHistory) {
+            sb.append("\n  ").append(step);
+        }
+        Assert.fail(sb.toString());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * When load more triggers as the target scrolls. The distance to the end and whether the
+ * target scrolls at all are set by the test, each check stands for a scroll or layout pass.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsSwipeRefreshLayoutLoadMoreTest {
+    private static final int PREFETCH = 100;
+
+    private GsSwipeRefreshLayout mLayout;
+    private boolean mScrollable;
+    private int mDistanceToEnd;
+    private int mLoadMoreCount;
+
+    @Before
+    public void setUp() {
+        final Context context = RuntimeEnvironment.application;
+        GsFrameTicker.getInstance().setFrameSource(new GsManualFrameSource(1000));
+        mLayout = new GsSwipeRefreshLayout(context);
+        mLayout.addView(new View(context) {
+            @Override
+            public boolean canScrollVertically(int direction) {
+                return mScrollable;
+            }
+        });
+        mLayout.setLoadMoreEnabled(true);
+        mLayout.setLoadMorePrefetchDistance(PREFETCH);
+        mLayout.setOnChildDistanceToEndCallback(
+                new GsSwipeRefreshLayout.OnChildDistanceToEndCallback() {
+                    @Override
+                    public int getChildDistanceToEnd(@NonNull GsSwipeRefreshLayout parent,
+                                                     @Nullable View child) {
+                        return mDistanceToEnd;
+                    }
+                });
+        mLayout.setOnLoadMoreListener(new GsSwipeRefreshLayout.OnLoadMoreListener() {
+            @Override
+            public void onLoadMore() {
+                mLoadMoreCount++;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void contentThatFitsNeverLoadsMore() {
+        mDistanceToEnd = 0;
+        mLayout.checkLoadMore();
+        mLayout.checkLoadMore();
+        assertEquals(0, mLoadMoreCount);
+        assertFalse(mLayout.isLoadingMore());
+    }
+
+    @Test
+    public void loadsOnceOnReachingPrefetchDistance() {
+        mScrollable = true;
+        mDistanceToEnd = 1000;
+        mLayout.checkLoadMore();
+        assertEquals(0, mLoadMoreCount);
+
+        mDistanceToEnd = PREFETCH;
+        mLayout.checkLoadMore();
+        assertEquals(1, mLoadMoreCount);
+        assertTrue(mLayout.isLoadingMore());
+
+        // The next page came back empty, the target is still at its end
+        mLayout.setLoadingMore(false);
+        mLayout.checkLoadMore();
+        mLayout.checkLoadMore();
+        assertEquals(1, mLoadMoreCount);
+    }
+
+    @Test
+    public void leavingPrefetchDistanceRearmsLoadMore() {
+        mScrollable = true;
+        mDistanceToEnd = 0;
+        mLayout.checkLoadMore();
+        mLayout.setLoadingMore(false);
+
+        // A page was appended
+        mDistanceToEnd = 1000;
+        mLayout.checkLoadMore();
+        mDistanceToEnd = 50;
+        mLayout.checkLoadMore();
+        assertEquals(2, mLoadMoreCount);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.gs.gsswiperefreshlayout.gs;
+
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.*;
+
+/**
+ * Refreshing set from a background thread through postRefreshing(). The main looper is
+ * paused so the requests pile up until the test lets the main thread run.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class GsSwipeRefreshLayoutPostRefreshingTest {
+    private static final int CALLS = 1000;
+
+    private GsSwipeRefreshLayout mLayout;
+
+    @Before
+    public void setUp() {
+        GsFrameTicker.getInstance().setFrameSource(new GsManualFrameSource(1000));
+        mLayout = new GsSwipeRefreshLayout(RuntimeEnvironment.application);
+        mLayout.addView(new View(RuntimeEnvironment.application));
+        ShadowLooper.pauseMainLooper();
+    }
+
+    @After
+    public void tearDown() {
+        ShadowLooper.unPauseMainLooper();
+        GsFrameTicker.getInstance().setFrameSource(null);
+    }
+
+    @Test
+    public void callsFromAnotherThreadAreCoalesced() throws InterruptedException {
+        runOnLoaderThread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < CALLS; i++) {
+                    // Ends on true
+                    mLayout.postRefreshing(i % 2 == 1);
+                }
+            }
+        });
+        assertFalse(mLayout.isRefreshing());
+        assertEquals(1, Robolectric.getForegroundThreadScheduler().size());
+
+        ShadowLooper.runUiThreadTasks();
+        assertTrue(mLayout.isRefreshing());
+        assertEquals(0, Robolectric.getForegroundThreadScheduler().size());
+    }
+
+    @Test
+    public void callAfterDeliveryPostsAgain() throws InterruptedException {
+        final Runnable finish = new Runnable() {
+            @Override
+            public void run() {
+                mLayout.postRefreshing(false);
+            }
+        };
+        mLayout.setRefreshing(true);
+        runOnLoaderThread(finish);
+        ShadowLooper.runUiThreadTasks();
+        assertFalse(mLayout.isRefreshing());
+
+        mLayout.setRefreshing(true);
+        runOnLoaderThread(finish);
+        assertEquals(1, Robolectric.getForegroundThreadScheduler().size());
+        ShadowLooper.runUiThreadTasks();
+        assertFalse(mLayout.isRefreshing());
+    }
+
+    private static void runOnLoaderThread(Runnable runnable) throws InterruptedException {
+        final Thread thread = new Thread(runnable, "loader");
+        thread.start();
+        thread.join();
+    }
+}